@@ -0,0 +1,50 @@
+package br.com.pessoa.benchmark;
+
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Páginas de DTOs determinísticas, com o formato das listagens da API.
+ */
+final class BenchmarkData {
+
+    private static final String[] CIDADES = { "Maceió", "Recife", "São Paulo", "Porto Alegre", "Belo Horizonte" };
+
+    private BenchmarkData() {}
+
+    static List<PessoaDTO> pessoas(int size) {
+        List<PessoaDTO> pessoas = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PessoaDTO pessoa = new PessoaDTO();
+            pessoa.setId(1_000L + i);
+            pessoa.setNome("Pessoa de Teste Número " + i);
+            pessoa.setDataNascimento(LocalDate.of(1950, 1, 1).plusDays(i * 17L));
+            pessoa.setVersion((long) (i % 5));
+            pessoas.add(pessoa);
+        }
+        return pessoas;
+    }
+
+    static List<EnderecoDTO> enderecos(int size) {
+        List<EnderecoDTO> enderecos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Como no EnderecoMapper, a pessoa do endereco leva só o id
+            PessoaDTO dono = new PessoaDTO();
+            dono.setId(1_000L + i);
+            EnderecoDTO endereco = new EnderecoDTO();
+            endereco.setId(5_000L + i);
+            endereco.setLogradouro("Rua das Flores, bloco " + (i % 40));
+            endereco.setCep(String.format("%08d", 57_000_000 + i * 37));
+            endereco.setNumero(String.valueOf(i % 900 + 1));
+            endereco.setCidade(CIDADES[i % CIDADES.length]);
+            endereco.setEnderecoPrincipal(i % 2 == 0);
+            endereco.setVersion(0L);
+            endereco.setPessoa(dono);
+            enderecos.add(endereco);
+        }
+        return enderecos;
+    }
+}
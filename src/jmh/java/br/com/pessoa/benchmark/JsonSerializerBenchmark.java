@@ -0,0 +1,103 @@
+package br.com.pessoa.benchmark;
+
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.dto.json.DtoJsonModule;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Vazão de (de)serialização JSON de uma página de {@link PessoaDTO} e {@link EnderecoDTO}: serializador de beans do
+ * Jackson ({@code bean}) contra os escritos à mão do {@link DtoJsonModule} ({@code handwritten}). Páginas de 20 (o
+ * tamanho padrão da API) e de 1000 (carga em lote).
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=JsonSerializerBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializerBenchmark {
+
+    @Param({ "bean", "handwritten" })
+    public String serializer;
+
+    @Param({ "20", "1000" })
+    public int pageSize;
+
+    private List<PessoaDTO> pessoas;
+
+    private List<EnderecoDTO> enderecos;
+
+    private ObjectWriter pessoaWriter;
+
+    private ObjectWriter enderecoWriter;
+
+    private ObjectReader pessoaReader;
+
+    private ObjectReader enderecoReader;
+
+    private byte[] pessoaPage;
+
+    private byte[] enderecoPage;
+
+    @Setup
+    public void setup() throws IOException {
+        pessoas = BenchmarkData.pessoas(pageSize);
+        enderecos = BenchmarkData.enderecos(pageSize);
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("handwritten".equals(serializer)) {
+            builder.modulesToInstall(new DtoJsonModule());
+        }
+        ObjectMapper mapper = builder.build();
+        TypeReference<List<PessoaDTO>> pessoaList = new TypeReference<List<PessoaDTO>>() {};
+        TypeReference<List<EnderecoDTO>> enderecoList = new TypeReference<List<EnderecoDTO>>() {};
+        pessoaWriter = mapper.writerFor(pessoaList);
+        enderecoWriter = mapper.writerFor(enderecoList);
+        pessoaReader = mapper.readerFor(pessoaList);
+        enderecoReader = mapper.readerFor(enderecoList);
+        pessoaPage = pessoaWriter.writeValueAsBytes(pessoas);
+        enderecoPage = enderecoWriter.writeValueAsBytes(enderecos);
+    }
+
+    @Benchmark
+    public byte[] serializePessoaPage() throws IOException {
+        return pessoaWriter.writeValueAsBytes(pessoas);
+    }
+
+    @Benchmark
+    public byte[] serializeEnderecoPage() throws IOException {
+        return enderecoWriter.writeValueAsBytes(enderecos);
+    }
+
+    @Benchmark
+    public List<PessoaDTO> deserializePessoaPage() throws IOException {
+        return pessoaReader.readValue(pessoaPage);
+    }
+
+    @Benchmark
+    public List<EnderecoDTO> deserializeEnderecoPage() throws IOException {
+        return enderecoReader.readValue(enderecoPage);
+    }
+}
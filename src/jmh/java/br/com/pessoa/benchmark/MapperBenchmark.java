@@ -0,0 +1,156 @@
+package br.com.pessoa.benchmark;
+
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.mapper.EnderecoMapper;
+import br.com.pessoa.service.mapper.EnderecoMapperImpl;
+import br.com.pessoa.service.mapper.PessoaMapper;
+import br.com.pessoa.service.mapper.PessoaMapperImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Tempo médio dos mappers MapStruct ({@link PessoaMapper} e {@link EnderecoMapper}) em um objeto e em listas de
+ * {@value #LIST_SIZE}, no formato das páginas e cargas em lote da API.
+ * <p>
+ * Os mappers gerados são montados em um contexto Spring só com eles, como na aplicação, sem banco.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=MapperBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    private AnnotationConfigApplicationContext context;
+
+    private PessoaMapper pessoaMapper;
+
+    private EnderecoMapper enderecoMapper;
+
+    private List<PessoaDTO> pessoaDTOs;
+
+    private List<Pessoa> pessoas;
+
+    private List<EnderecoDTO> enderecoDTOs;
+
+    private List<Endereco> enderecos;
+
+    private PessoaDTO pessoaPatch;
+
+    private EnderecoDTO enderecoPatch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(PessoaMapperImpl.class, EnderecoMapperImpl.class);
+        pessoaMapper = context.getBean(PessoaMapper.class);
+        enderecoMapper = context.getBean(EnderecoMapper.class);
+
+        pessoaDTOs = BenchmarkData.pessoas(LIST_SIZE);
+        pessoas = pessoaMapper.toEntity(pessoaDTOs);
+        enderecoDTOs = BenchmarkData.enderecos(LIST_SIZE);
+        enderecos = enderecoMapper.toEntity(enderecoDTOs);
+
+        // Como num PATCH: só o campo alterado vem preenchido
+        pessoaPatch = new PessoaDTO();
+        pessoaPatch.setNome("Nome Alterado");
+        enderecoPatch = new EnderecoDTO();
+        enderecoPatch.setCidade("Curitiba");
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public PessoaDTO pessoaToDto() {
+        return pessoaMapper.toDto(pessoas.get(0));
+    }
+
+    @Benchmark
+    public Pessoa pessoaToEntity() {
+        return pessoaMapper.toEntity(pessoaDTOs.get(0));
+    }
+
+    @Benchmark
+    public Pessoa pessoaPartialUpdate() {
+        Pessoa pessoa = pessoas.get(0);
+        pessoaMapper.partialUpdate(pessoa, pessoaPatch);
+        return pessoa;
+    }
+
+    @Benchmark
+    public List<PessoaDTO> pessoaToDtoList() {
+        return pessoaMapper.toDto(pessoas);
+    }
+
+    @Benchmark
+    public List<Pessoa> pessoaToEntityList() {
+        return pessoaMapper.toEntity(pessoaDTOs);
+    }
+
+    @Benchmark
+    public void pessoaPartialUpdateList(Blackhole blackhole) {
+        for (Pessoa pessoa : pessoas) {
+            pessoaMapper.partialUpdate(pessoa, pessoaPatch);
+            blackhole.consume(pessoa);
+        }
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoToDto() {
+        return enderecoMapper.toDto(enderecos.get(0));
+    }
+
+    @Benchmark
+    public Endereco enderecoToEntity() {
+        return enderecoMapper.toEntity(enderecoDTOs.get(0));
+    }
+
+    @Benchmark
+    public Endereco enderecoPartialUpdate() {
+        Endereco endereco = enderecos.get(0);
+        enderecoMapper.partialUpdate(endereco, enderecoPatch);
+        return endereco;
+    }
+
+    @Benchmark
+    public List<EnderecoDTO> enderecoToDtoList() {
+        return enderecoMapper.toDto(enderecos);
+    }
+
+    @Benchmark
+    public List<Endereco> enderecoToEntityList() {
+        return enderecoMapper.toEntity(enderecoDTOs);
+    }
+
+    @Benchmark
+    public void enderecoPartialUpdateList(Blackhole blackhole) {
+        for (Endereco endereco : enderecos) {
+            enderecoMapper.partialUpdate(endereco, enderecoPatch);
+            blackhole.consume(endereco);
+        }
+    }
+}
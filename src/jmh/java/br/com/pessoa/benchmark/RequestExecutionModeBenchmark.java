@@ -0,0 +1,124 @@
+package br.com.pessoa.benchmark;
+
+import br.com.pessoa.PessoaServiceApplication;
+import br.com.pessoa.service.PessoaService;
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Carga HTTP sobre a aplicação inteira, com threads de plataforma ({@code platform}) e com threads virtuais
+ * ({@code virtual}).
+ * <p>
+ * {@value #CLIENTS} clientes concorrentes disputam um Tomcat limitado a {@value #TOMCAT_THREADS} threads e um pool de
+ * {@value #POOL_SIZE} conexões, alternando a listagem paginada e o agregado de uma pessoa. No modo de plataforma as
+ * requisições excedentes esperam na fila do Tomcat; no virtual, esperam por conexão no Hikari.
+ * <p>
+ * O fork roda com {@code -Djdk.tracePinnedThreads=short}: no modo virtual, cada thread virtual presa à thread de
+ * plataforma por um {@code synchronized} (H2, Hikari) aparece na saída com o trecho responsável.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=RequestExecutionModeBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(RequestExecutionModeBenchmark.CLIENTS)
+@State(Scope.Benchmark)
+public class RequestExecutionModeBenchmark {
+
+    static final int CLIENTS = 200;
+
+    private static final int TOMCAT_THREADS = 20;
+
+    private static final int POOL_SIZE = 10;
+
+    private static final int PESSOAS = 1000;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context =
+            new SpringApplicationBuilder(PessoaServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                    "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                    "application.threads.virtual-enabled=" + "virtual".equals(mode),
+                    "logging.level.root=WARN"
+                )
+                .run();
+
+        PessoaService pessoaService = context.getBean(PessoaService.class);
+        List<PessoaDTO> novas = BenchmarkData.pessoas(PESSOAS);
+        novas.forEach(pessoa -> {
+            pessoa.setId(null);
+            pessoa.setVersion(null);
+        });
+        pessoaService.saveAll(novas);
+        ids = pessoaService.findAll(PageRequest.of(0, PESSOAS)).stream().mapToLong(PessoaDTO::getId).toArray();
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/pessoas";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getPessoasPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(PESSOAS / 20);
+        return get(baseUrl + "?size=20&page=" + page);
+    }
+
+    @Benchmark
+    public int getPessoaCompleto() throws IOException, InterruptedException {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return get(baseUrl + "/" + id + "/completo");
+    }
+
+    private int get(String url) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " -> " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.pessoa.benchmark;
+
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Custo de serialização de uma página de 1000 {@link PessoaDTO} e {@link EnderecoDTO} em JSON, CBOR e Smile, com e sem gzip.
+ * <p>
+ * Os mappers são montados como os conversores da aplicação (datas ISO, sem timestamps). O tamanho de cada payload, bruto e
+ * com gzip, é impresso no início de cada fork, já que o JMH só mede tempo.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=SerializationFormatBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    private List<PessoaDTO> pessoas;
+
+    private List<EnderecoDTO> enderecos;
+
+    private ObjectWriter pessoaWriter;
+
+    private ObjectWriter enderecoWriter;
+
+    @Setup
+    public void setup() throws IOException {
+        pessoas = BenchmarkData.pessoas(PAGE_SIZE);
+        enderecos = BenchmarkData.enderecos(PAGE_SIZE);
+
+        ObjectMapper mapper = mapperFor(format);
+        pessoaWriter = mapper.writerFor(new TypeReference<List<PessoaDTO>>() {});
+        enderecoWriter = mapper.writerFor(new TypeReference<List<EnderecoDTO>>() {});
+
+        byte[] pessoaPage = pessoaWriter.writeValueAsBytes(pessoas);
+        byte[] enderecoPage = enderecoWriter.writeValueAsBytes(enderecos);
+        System.out.printf(
+            "%n[%s] List<PessoaDTO>: %d bytes (gzip %d) | List<EnderecoDTO>: %d bytes (gzip %d)%n",
+            format,
+            pessoaPage.length,
+            gzip(pessoaPage).length,
+            enderecoPage.length,
+            gzip(enderecoPage).length
+        );
+    }
+
+    @Benchmark
+    public byte[] serializePessoaPage() throws IOException {
+        return pessoaWriter.writeValueAsBytes(pessoas);
+    }
+
+    @Benchmark
+    public byte[] serializePessoaPageGzip() throws IOException {
+        return gzip(pessoaWriter.writeValueAsBytes(pessoas));
+    }
+
+    @Benchmark
+    public byte[] serializeEnderecoPage() throws IOException {
+        return enderecoWriter.writeValueAsBytes(enderecos);
+    }
+
+    @Benchmark
+    public byte[] serializeEnderecoPageGzip() throws IOException {
+        return gzip(enderecoWriter.writeValueAsBytes(enderecos));
+    }
+
+    private static ObjectMapper mapperFor(String format) {
+        Jackson2ObjectMapperBuilder builder;
+        switch (format) {
+            case "cbor":
+                builder = Jackson2ObjectMapperBuilder.cbor();
+                break;
+            case "smile":
+                builder = Jackson2ObjectMapperBuilder.smile();
+                break;
+            default:
+                builder = Jackson2ObjectMapperBuilder.json();
+        }
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+}
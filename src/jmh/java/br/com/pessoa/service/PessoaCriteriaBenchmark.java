@@ -0,0 +1,147 @@
+package br.com.pessoa.service;
+
+import br.com.pessoa.PessoaServiceApplication;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.AopTestUtils;
+
+/**
+ * Tempo médio de {@link PessoaQueryService#createSpecification} para os formatos comuns de {@link PessoaCriteria}: só a
+ * montagem da {@link Specification} ({@code createSpecification}) e até a consulta JPA pronta para executar
+ * ({@code createQuery}), que inclui o {@code toPredicate} e a compilação do Criteria pelo Hibernate. Nenhuma consulta vai
+ * ao banco.
+ * <p>
+ * Fica no pacote do serviço porque o método é protegido. A aplicação sobe sem web, sobre o H2 em memória, com
+ * {@value #PESSOAS} pessoas no índice de trigramas usado pelo {@code nome.contains}.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=PessoaCriteriaBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PessoaCriteriaBenchmark {
+
+    private static final int PESSOAS = 10_000;
+
+    @Param({ "empty", "idEquals", "nomeContains", "dataNascimentoRange", "enderecoIdIn", "combined" })
+    public String shape;
+
+    private ConfigurableApplicationContext context;
+
+    private PessoaQueryService pessoaQueryService;
+
+    private EntityManager entityManager;
+
+    private PessoaCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context =
+            new SpringApplicationBuilder(PessoaServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+
+        List<PessoaDTO> novas = new ArrayList<>(PESSOAS);
+        for (int i = 0; i < PESSOAS; i++) {
+            PessoaDTO pessoa = new PessoaDTO();
+            pessoa.setNome((i % 3 == 0 ? "Maria " : "João ") + "Silva " + i);
+            pessoa.setDataNascimento(LocalDate.of(1950, 1, 1).plusDays(i * 3L));
+            novas.add(pessoa);
+        }
+        context.getBean(PessoaService.class).saveAll(novas);
+
+        // O alvo, sem o proxy de transação, cache e métricas: só a montagem da consulta é medida
+        pessoaQueryService = AopTestUtils.getUltimateTargetObject(context.getBean(PessoaQueryService.class));
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        criteria = criteria(shape);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Specification<Pessoa> createSpecification() {
+        return pessoaQueryService.createSpecification(criteria);
+    }
+
+    @Benchmark
+    public TypedQuery<Pessoa> createQuery() {
+        Specification<Pessoa> specification = pessoaQueryService.createSpecification(criteria);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Pessoa> query = builder.createQuery(Pessoa.class);
+        Root<Pessoa> root = query.from(Pessoa.class);
+        // Como o SimpleJpaRepository: a especificação vazia não gera predicado
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static PessoaCriteria criteria(String shape) {
+        PessoaCriteria criteria = new PessoaCriteria();
+        switch (shape) {
+            case "empty":
+                break;
+            case "idEquals":
+                criteria.id().setEquals(1_000L);
+                break;
+            case "nomeContains":
+                criteria.nome().setContains("silva 12");
+                break;
+            case "dataNascimentoRange":
+                criteria.dataNascimento().setGreaterThanOrEqual(LocalDate.of(1960, 1, 1));
+                criteria.dataNascimento().setLessThan(LocalDate.of(1970, 1, 1));
+                break;
+            case "enderecoIdIn":
+                criteria.enderecoId().setIn(List.of(1L, 2L, 3L, 4L, 5L));
+                break;
+            case "combined":
+                criteria.nome().setContains("maria");
+                criteria.dataNascimento().setGreaterThanOrEqual(LocalDate.of(1960, 1, 1));
+                criteria.enderecoId().setSpecified(true);
+                criteria.setDistinct(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown criteria shape: " + shape);
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,380 @@
+package br.com.pessoa.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Clientes HTTP concorrentes sobre o {@code PessoaResource} e o {@code EnderecoResource}, em laço fechado: cada cliente
+ * manda a próxima requisição assim que recebe a resposta da anterior, sorteando a operação pelos pesos do mix.
+ * <p>
+ * As latências do aquecimento são descartadas. Em laço fechado, uma pausa do servidor atrasa também as requisições que
+ * os clientes deixam de mandar enquanto esperam; os percentis medem o serviço visto por esses clientes, não por uma
+ * taxa de chegada fixa.
+ */
+public class LoadDriver {
+
+    /**
+     * Operações do mix, identificadas no mix ({@code loadtest.mix}) e no relatório pela chave.
+     */
+    public enum Operation {
+        LIST_PESSOAS("listPessoas", false, 200),
+        GET_PESSOA("getPessoa", false, 200),
+        GET_PESSOA_COMPLETO("getPessoaCompleto", false, 200),
+        SEARCH_PESSOAS("searchPessoas", false, 200),
+        LIST_ENDERECOS("listEnderecos", false, 200),
+        GET_ENDERECOS_BY_PESSOA("getEnderecosByPessoa", false, 200),
+        CREATE_PESSOA("createPessoa", true, 201),
+        UPDATE_PESSOA("updatePessoa", true, 200),
+        CREATE_ENDERECO("createEndereco", true, 201);
+
+        private final String key;
+
+        private final boolean write;
+
+        private final int expectedStatus;
+
+        Operation(String key, boolean write, int expectedStatus) {
+            this.key = key;
+            this.write = write;
+            this.expectedStatus = expectedStatus;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public boolean isWrite() {
+            return write;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation '" + key + "', expected one of " + Arrays.toString(keys()));
+        }
+
+        private static String[] keys() {
+            return Arrays.stream(values()).map(Operation::getKey).toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Mix padrão: 90% leituras e 10% escritas.
+     */
+    static final String DEFAULT_MIX =
+        "listPessoas:20,getPessoa:25,getPessoaCompleto:15,searchPessoas:10,listEnderecos:10,getEnderecosByPessoa:10," +
+        "createPessoa:5,updatePessoa:3,createEndereco:2";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+
+    private final SyntheticDataGenerator.Dataset dataset;
+
+    private final Map<Operation, Integer> mix;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoadDriver(String baseUrl, SyntheticDataGenerator.Dataset dataset, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+    }
+
+    /**
+     * Lê o mix no formato {@code operacao:peso,...}, com pesos inteiros.
+     * <p>
+     * Com {@code writePercent} informado, os pesos são reescalados para que as escritas somem esse percentual do total,
+     * mantendo a proporção entre as leituras e entre as escritas.
+     *
+     * @param spec o mix, ou vazio para o {@link #DEFAULT_MIX}.
+     * @param writePercent o percentual de escritas, de 0 a 100, ou {@code null} para usar os pesos como estão.
+     * @return o peso de cada operação, sem as de peso zero.
+     */
+    public static Map<Operation, Integer> parseMix(String spec, Integer writePercent) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : (spec == null || spec.isBlank() ? DEFAULT_MIX : spec).split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation:weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry '" + entry + "'");
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (writePercent != null) {
+            if (writePercent < 0 || writePercent > 100) {
+                throw new IllegalArgumentException("Write percent must be between 0 and 100: " + writePercent);
+            }
+            int reads = weights.entrySet().stream().filter(e -> !e.getKey().isWrite()).mapToInt(Map.Entry::getValue).sum();
+            int writes = weights.entrySet().stream().filter(e -> e.getKey().isWrite()).mapToInt(Map.Entry::getValue).sum();
+            if ((writePercent > 0 && writes == 0) || (writePercent < 100 && reads == 0)) {
+                throw new IllegalArgumentException("Mix has no operations to reach " + writePercent + "% writes: " + spec);
+            }
+            // Pesos somando 10000 (centésimos de ponto percentual), para que operações de peso pequeno não sumam no arredondamento
+            weights.replaceAll((operation, weight) ->
+                (int) Math.round(operation.isWrite() ? weight * writePercent * 100.0 / writes : weight * (100 - writePercent) * 100.0 / reads)
+            );
+        }
+        weights.values().removeIf(weight -> weight == 0);
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + spec);
+        }
+        return weights;
+    }
+
+    /**
+     * Executa a carga e devolve as medições do período após o aquecimento.
+     *
+     * @param clients a quantidade de clientes concorrentes.
+     * @param warmupSeconds a duração do aquecimento, descartado.
+     * @param durationSeconds a duração da medição.
+     * @param seed a semente dos sorteios dos clientes.
+     */
+    public LoadReport run(int clients, int warmupSeconds, int durationSeconds, long seed) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long until = measureFrom + durationSeconds * 1_000_000_000L;
+        List<Client> workers = new ArrayList<>(clients);
+        List<Thread> threads = new ArrayList<>(clients);
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < clients; i++) {
+            Client worker = new Client(root.split(), measureFrom, until);
+            Thread thread = new Thread(worker, "load-client-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, LoadReport.OperationStats> operations = new LinkedHashMap<>();
+        Samples total = new Samples();
+        for (Operation operation : mix.keySet()) {
+            Samples merged = new Samples();
+            for (Client worker : workers) {
+                merged.addAll(worker.samples.get(operation));
+            }
+            total.addAll(merged);
+            operations.put(operation.getKey(), merged.toStats(durationSeconds));
+        }
+        LoadReport report = new LoadReport();
+        report.setPessoas(dataset.getPessoas());
+        report.setEnderecos(dataset.getEnderecos());
+        report.setSeed(dataset.getSeed());
+        report.setProcessors(Runtime.getRuntime().availableProcessors());
+        report.setClients(clients);
+        report.setDurationSeconds(durationSeconds);
+        report.setMix(mixToString(mix));
+        report.setOperations(operations);
+        report.setTotal(total.toStats(durationSeconds));
+        return report;
+    }
+
+    /**
+     * O mix no formato de {@link #parseMix}.
+     */
+    public static String mixToString(Map<Operation, Integer> mix) {
+        StringBuilder spec = new StringBuilder();
+        mix.forEach((operation, weight) -> spec.append(spec.length() == 0 ? "" : ",").append(operation.getKey()).append(':').append(weight));
+        return spec.toString();
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) throws IOException {
+        switch (operation) {
+            case LIST_PESSOAS:
+                // Páginas iniciais, como na navegação: quanto mais funda, mais rara
+                return get("/api/pessoas?size=20&page=" + (int) Math.pow(random.nextInt(100), 2) / 100);
+            case GET_PESSOA:
+                return get("/api/pessoas/" + pessoaId(random));
+            case GET_PESSOA_COMPLETO:
+                return get("/api/pessoas/" + pessoaId(random) + "/completo");
+            case SEARCH_PESSOAS:
+                return get("/api/pessoas?size=20&nome.contains=" + encode(SyntheticDataGenerator.SOBRENOMES.next(random).toLowerCase()));
+            case LIST_ENDERECOS:
+                return get("/api/enderecos?size=20&cidade.equals=" + encode(SyntheticDataGenerator.CIDADES.next(random).nome));
+            case GET_ENDERECOS_BY_PESSOA:
+                return get("/api/pessoas/" + pessoaId(random) + "/enderecos");
+            case CREATE_PESSOA:
+                return send("POST", "/api/pessoas", Map.of("nome", novoNome(random), "dataNascimento", "1990-05-17"));
+            case UPDATE_PESSOA:
+                long id = pessoaId(random);
+                // Sem versão: o PATCH vale sobre a versão atual, como de um cliente que não guarda ETag
+                return send("PATCH", "/api/pessoas/" + id, Map.of("id", id, "nome", novoNome(random)));
+            case CREATE_ENDERECO:
+                SyntheticDataGenerator.Cidade cidade = SyntheticDataGenerator.CIDADES.next(random);
+                Map<String, Object> endereco = new LinkedHashMap<>();
+                endereco.put("logradouro", "Rua da Carga " + random.nextInt(1_000));
+                endereco.put("cep", cidade.cep(random));
+                endereco.put("numero", String.valueOf(1 + random.nextInt(3_000)));
+                endereco.put("cidade", cidade.nome);
+                endereco.put("enderecoPrincipal", false);
+                endereco.put("pessoa", Map.of("id", pessoaId(random)));
+                return send("POST", "/api/enderecos", endereco);
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+
+    private long pessoaId(SplittableRandom random) {
+        return dataset.getFirstPessoaId() + random.nextInt(dataset.getPessoas());
+    }
+
+    private static String novoNome(SplittableRandom random) {
+        return SyntheticDataGenerator.PRENOMES.next(random) + " " + SyntheticDataGenerator.SOBRENOMES.next(random);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) throws IOException {
+        return HttpRequest
+            .newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private final class Client implements Runnable {
+
+        private final SplittableRandom random;
+
+        private final long measureFrom;
+
+        private final long until;
+
+        private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+        private final Operation[] operations;
+
+        private final int[] cumulative;
+
+        Client(SplittableRandom random, long measureFrom, long until) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.until = until;
+            this.operations = mix.keySet().toArray(new Operation[0]);
+            this.cumulative = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += mix.get(operations[i]);
+                cumulative[i] = sum;
+                samples.put(operations[i], new Samples());
+            }
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < until) {
+                Operation operation = nextOperation();
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(request(operation, random), HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() == operation.expectedStatus;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long end = System.nanoTime();
+                if (now >= measureFrom && end <= until) {
+                    samples.get(operation).add(end - now, ok);
+                }
+            }
+        }
+
+        private Operation nextOperation() {
+            int r = random.nextInt(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= r) {
+                i++;
+            }
+            return operations[i];
+        }
+    }
+
+    /**
+     * Latências (ns) de um cliente ou da junção de vários, e a contagem de erros.
+     */
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        private long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        LoadReport.OperationStats toStats(int durationSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            LoadReport.OperationStats stats = new LoadReport.OperationStats();
+            stats.setRequests(size);
+            stats.setErrors(errors);
+            stats.setThroughput((double) size / durationSeconds);
+            stats.setP50Millis(percentile(sorted, 0.50));
+            stats.setP95Millis(percentile(sorted, 0.95));
+            stats.setP99Millis(percentile(sorted, 0.99));
+            stats.setMaxMillis(size == 0 ? 0 : sorted[size - 1] / 1e6);
+            return stats;
+        }
+
+        /**
+         * Percentil pelo posto mais próximo, em milissegundos.
+         */
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package br.com.pessoa.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução do {@link LoadDriver}: a massa, a máquina e a configuração usadas, e vazão e latência por
+ * operação.
+ * <p>
+ * Gravado em JSON a cada execução; um resultado guardado como linha de base serve para apontar regressões nas
+ * execuções seguintes ({@link #regressionsAgainst}).
+ */
+public class LoadReport {
+
+    /**
+     * Diferenças de latência abaixo disso são ruído de medição, qualquer que seja o percentual.
+     */
+    static final double MIN_LATENCY_DELTA_MILLIS = 1.0;
+
+    private int pessoas;
+
+    private long enderecos;
+
+    private long seed;
+
+    private int processors;
+
+    private int clients;
+
+    private int durationSeconds;
+
+    private String mix;
+
+    private Map<String, OperationStats> operations = new LinkedHashMap<>();
+
+    private OperationStats total;
+
+    public int getPessoas() {
+        return pessoas;
+    }
+
+    public void setPessoas(int pessoas) {
+        this.pessoas = pessoas;
+    }
+
+    public long getEnderecos() {
+        return enderecos;
+    }
+
+    public void setEnderecos(long enderecos) {
+        this.enderecos = enderecos;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getProcessors() {
+        return processors;
+    }
+
+    public void setProcessors(int processors) {
+        this.processors = processors;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public void setClients(int clients) {
+        this.clients = clients;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public String getMix() {
+        return mix;
+    }
+
+    public void setMix(String mix) {
+        this.mix = mix;
+    }
+
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<String, OperationStats> operations) {
+        this.operations = operations;
+    }
+
+    public OperationStats getTotal() {
+        return total;
+    }
+
+    public void setTotal(OperationStats total) {
+        this.total = total;
+    }
+
+    /**
+     * As diferenças de massa, de máquina e de configuração em relação à linha de base; com elas, a comparação perde o
+     * sentido.
+     */
+    public List<String> differencesFrom(LoadReport baseline) {
+        List<String> differences = new ArrayList<>();
+        if (pessoas != baseline.pessoas || seed != baseline.seed) {
+            differences.add("dataset " + pessoas + " pessoas/seed " + seed + " vs " + baseline.pessoas + " pessoas/seed " + baseline.seed);
+        }
+        if (processors != baseline.processors) {
+            differences.add("processors " + processors + " vs " + baseline.processors);
+        }
+        if (clients != baseline.clients) {
+            differences.add("clients " + clients + " vs " + baseline.clients);
+        }
+        if (mix != null && !mix.equals(baseline.mix)) {
+            differences.add("mix " + mix + " vs " + baseline.mix);
+        }
+        return differences;
+    }
+
+    /**
+     * Compara cada operação presente nas duas execuções, e o total, com a linha de base.
+     * <p>
+     * É regressão a vazão cair, ou o p95 ou o p99 subir, mais que {@code threshold} (0.2 = 20%), e aparecerem erros
+     * onde a linha de base não tinha.
+     *
+     * @param baseline a execução de referência.
+     * @param threshold a variação tolerada, como fração.
+     * @return uma descrição por regressão, vazia se não houver.
+     */
+    public List<String> regressionsAgainst(LoadReport baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            OperationStats reference = baseline.operations.get(entry.getKey());
+            if (reference != null) {
+                entry.getValue().compareTo(entry.getKey(), reference, threshold, regressions);
+            }
+        }
+        if (total != null && baseline.total != null) {
+            total.compareTo("total", baseline.total, threshold, regressions);
+        }
+        return regressions;
+    }
+
+    /**
+     * Medições de uma operação no período medido. Latências em milissegundos; vazão em requisições por segundo.
+     */
+    public static class OperationStats {
+
+        private long requests;
+
+        private long errors;
+
+        private double throughput;
+
+        private double p50Millis;
+
+        private double p95Millis;
+
+        private double p99Millis;
+
+        private double maxMillis;
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public void setRequests(long requests) {
+            this.requests = requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public void setErrors(long errors) {
+            this.errors = errors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(double throughput) {
+            this.throughput = throughput;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public void setP50Millis(double p50Millis) {
+            this.p50Millis = p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public void setP95Millis(double p95Millis) {
+            this.p95Millis = p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public void setP99Millis(double p99Millis) {
+            this.p99Millis = p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(double maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+
+        private void compareTo(String name, OperationStats baseline, double threshold, List<String> regressions) {
+            if (throughput < baseline.throughput * (1 - threshold)) {
+                regressions.add(String.format("%s: throughput %.1f/s vs baseline %.1f/s", name, throughput, baseline.throughput));
+            }
+            latency(name, "p95", p95Millis, baseline.p95Millis, threshold, regressions);
+            latency(name, "p99", p99Millis, baseline.p99Millis, threshold, regressions);
+            if (errors > 0 && baseline.errors == 0) {
+                regressions.add(String.format("%s: %d errors vs none in baseline", name, errors));
+            }
+        }
+
+        private static void latency(String name, String percentile, double current, double baseline, double threshold, List<String> regressions) {
+            if (current > baseline * (1 + threshold) && current - baseline >= MIN_LATENCY_DELTA_MILLIS) {
+                regressions.add(String.format("%s: %s %.2f ms vs baseline %.2f ms", name, percentile, current, baseline));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.pessoa.loadtest;
+
+import br.com.pessoa.PessoaServiceApplication;
+import br.com.pessoa.service.search.PessoaNomeIndexer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação sobre o H2 em memória, grava a massa sintética, roda o
+ * {@link LoadDriver} e compara o resultado com a linha de base.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec [-Dloadtest.pessoas=1000000] [-Dloadtest.clients=16]
+ * [-Dloadtest.mix=getPessoa:80,createPessoa:20] [-Dloadtest.write-percent=10] [-Dloadtest.update-baseline=true]}
+ * <p>
+ * Termina com código 1 se alguma operação regredir além de {@code loadtest.threshold} em relação a
+ * {@code loadtest.baseline}, o que falha o build. A linha de base só vale para a mesma máquina (ou o mesmo tipo de
+ * runner de CI) e a mesma configuração: deve ser regravada com {@code -Dloadtest.update-baseline=true} quando alguma das
+ * duas mudar. A aplicação roda em outra JVM, com a configuração padrão; variáveis de ambiente como
+ * {@code APPLICATION_WRITE_BEHIND_ENABLED=true} chegam a ela.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        int pessoas = Integer.getInteger("loadtest.pessoas", 1_000_000);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        int generatorThreads = Integer.getInteger("loadtest.generator-threads", Runtime.getRuntime().availableProcessors());
+        int clients = Integer.getInteger("loadtest.clients", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        String writePercent = System.getProperty("loadtest.write-percent", "");
+        Map<LoadDriver.Operation, Integer> mix = LoadDriver.parseMix(
+            System.getProperty("loadtest.mix", ""),
+            writePercent.isBlank() ? null : Integer.valueOf(writePercent)
+        );
+        double threshold = Double.parseDouble(System.getProperty("loadtest.threshold", "0.2"));
+        File baselineFile = new File(System.getProperty("loadtest.baseline", "src/loadtest/baseline.json"));
+        File resultFile = new File(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+        boolean updateBaseline = Boolean.getBoolean("loadtest.update-baseline");
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PessoaServiceApplication.class)
+            .properties("server.port=0", "logging.level.root=WARN")
+            .run();
+        int exitCode;
+        try {
+            long start = System.currentTimeMillis();
+            SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(seed, generatorThreads)
+                .generate(context.getBean(DataSource.class), pessoas);
+            System.out.printf(
+                "Generated %d pessoas and %d enderecos in %d ms%n",
+                dataset.getPessoas(),
+                dataset.getEnderecos(),
+                System.currentTimeMillis() - start
+            );
+            // A massa não passou pelo PessoaService: os índices de nome montados na subida estão vazios
+            context.getBean(PessoaNomeIndexer.class).rebuild();
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Running %d clients for %d s (+%d s warmup), mix %s%n", clients, durationSeconds, warmupSeconds, LoadDriver.mixToString(mix));
+            LoadReport report = new LoadDriver(baseUrl, dataset, mix).run(clients, warmupSeconds, durationSeconds, seed);
+            print(report);
+
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            write(objectMapper, report, resultFile);
+            System.out.println("Result saved to " + resultFile);
+            exitCode = updateBaseline ? saveBaseline(objectMapper, report, baselineFile) : check(objectMapper, report, baselineFile, threshold);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int saveBaseline(ObjectMapper objectMapper, LoadReport report, File baselineFile) throws Exception {
+        write(objectMapper, report, baselineFile);
+        System.out.println("Baseline updated: " + baselineFile);
+        return 0;
+    }
+
+    private static int check(ObjectMapper objectMapper, LoadReport report, File baselineFile, double threshold) throws Exception {
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + "; record one with -Dloadtest.update-baseline=true");
+            return 0;
+        }
+        LoadReport baseline = objectMapper.readValue(baselineFile, LoadReport.class);
+        List<String> differences = report.differencesFrom(baseline);
+        if (!differences.isEmpty()) {
+            System.out.println("WARNING: baseline was recorded with different settings, comparison may not be meaningful: " + differences);
+        }
+        List<String> regressions = report.regressionsAgainst(baseline, threshold);
+        if (regressions.isEmpty()) {
+            System.out.printf("No regression beyond %.0f%% against %s%n", threshold * 100, baselineFile);
+            return 0;
+        }
+        System.out.printf("REGRESSION beyond %.0f%% against %s:%n", threshold * 100, baselineFile);
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return 1;
+    }
+
+    private static void write(ObjectMapper objectMapper, LoadReport report, File file) throws Exception {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        objectMapper.writeValue(file, report);
+    }
+
+    private static void print(LoadReport report) {
+        String format = "%-22s %10s %8s %10s %10s %10s %10s %10s%n";
+        System.out.printf(format, "Operation", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        report.getOperations().forEach((name, stats) -> printRow(name, stats));
+        printRow("total", report.getTotal());
+    }
+
+    private static void printRow(String name, LoadReport.OperationStats stats) {
+        System.out.printf(
+            "%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+            name,
+            stats.getRequests(),
+            stats.getErrors(),
+            stats.getThroughput(),
+            stats.getP50Millis(),
+            stats.getP95Millis(),
+            stats.getP99Millis(),
+            stats.getMaxMillis()
+        );
+    }
+}
@@ -0,0 +1,349 @@
+package br.com.pessoa.loadtest;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+
+/**
+ * Massa sintética de {@code pessoa} e {@code endereco} gravada direto por JDBC, em lotes, sem passar pelo Hibernate.
+ * <p>
+ * Determinística: a mesma semente e a mesma quantidade geram as mesmas linhas, com qualquer número de threads. Cada bloco
+ * de {@value #CHUNK_SIZE} pessoas tem o seu gerador, derivado da semente, e é gravado em uma transação própria. Os nomes
+ * e as cidades seguem a frequência aproximada dos sobrenomes e das populações brasileiras, de forma que filtros como
+ * {@code nome.contains=silva} ou {@code cidade.equals=São Paulo} devolvem tantas linhas quanto em produção.
+ * <p>
+ * Os ids começam acima do valor atual das sequences, e as sequences são reposicionadas no final, para que as inserções
+ * feitas depois pela aplicação não colidam com a massa. As gravações não passam pelo
+ * {@link br.com.pessoa.service.PessoaService}: os índices de nome precisam ser reconstruídos em seguida.
+ */
+public class SyntheticDataGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private static final int JDBC_BATCH_SIZE = 1_000;
+
+    /**
+     * Máximo de enderecos por pessoa; cada pessoa reserva essa quantidade de ids de endereco.
+     */
+    private static final int MAX_ENDERECOS = 3;
+
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 1, 1);
+
+    private static final String INSERT_PESSOA = "insert into pessoa (id, nome, data_nascimento, version) values (?, ?, ?, 0)";
+
+    private static final String INSERT_ENDERECO =
+        "insert into endereco (id, logradouro, cep, numero, cidade, endereco_principal, pessoa_id, version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Frequências aproximadas do Censo 2010 (milhares de pessoas), arredondadas
+    static final Weighted<String> PRENOMES = new Weighted<>(
+        new String[] {
+            "Maria", "José", "Ana", "João", "Antônio", "Francisco", "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos",
+            "Luís", "Gabriel", "Rafael", "Francisca", "Daniel", "Marcelo", "Bruno", "Eduardo", "Felipe", "Raimundo", "Rodrigo",
+            "Antônia", "Adriana", "Juliana", "Márcia", "Fernanda", "Patrícia", "Aline",
+        },
+        new int[] {
+            11694, 5732, 3079, 2971, 2567, 1772, 1489, 1424, 1219, 1127, 1107, 1106, 935, 932, 821, 725, 711, 693, 668, 628,
+            615, 611, 598, 588, 565, 562, 551, 531, 529, 509,
+        }
+    );
+
+    static final Weighted<String> SOBRENOMES = new Weighted<>(
+        new String[] {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes", "Costa",
+            "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias",
+            "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas",
+        },
+        new int[] { 100, 72, 51, 45, 32, 31, 30, 29, 28, 26, 22, 21, 20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 11, 10, 10, 9, 9, 8, 8, 8 }
+    );
+
+    /**
+     * Cidades pela população (milhares), com a faixa de CEP de cada uma: {@code [início, fim)} dos cinco primeiros dígitos.
+     */
+    static final Weighted<Cidade> CIDADES = new Weighted<>(
+        new Cidade[] {
+            new Cidade("São Paulo", 1_000, 6_000),
+            new Cidade("Rio de Janeiro", 20_000, 23_800),
+            new Cidade("Brasília", 70_000, 72_800),
+            new Cidade("Fortaleza", 60_000, 61_600),
+            new Cidade("Salvador", 40_000, 42_600),
+            new Cidade("Belo Horizonte", 30_000, 32_000),
+            new Cidade("Manaus", 69_000, 69_100),
+            new Cidade("Curitiba", 80_000, 83_000),
+            new Cidade("Recife", 50_000, 53_000),
+            new Cidade("Goiânia", 74_000, 74_900),
+            new Cidade("Porto Alegre", 90_000, 92_000),
+            new Cidade("Belém", 66_000, 67_000),
+            new Cidade("Guarulhos", 7_000, 7_400),
+            new Cidade("Campinas", 13_000, 13_140),
+            new Cidade("São Luís", 65_000, 65_110),
+            new Cidade("Maceió", 57_000, 57_100),
+            new Cidade("Campo Grande", 79_000, 79_130),
+            new Cidade("Teresina", 64_000, 64_100),
+            new Cidade("João Pessoa", 58_000, 58_100),
+            new Cidade("Natal", 59_000, 59_140),
+        },
+        new int[] { 11451, 6211, 2817, 2428, 2418, 2315, 2063, 1773, 1488, 1437, 1332, 1303, 1291, 1139, 1037, 957, 898, 866, 833, 751 }
+    );
+
+    private static final Weighted<String> TIPOS_LOGRADOURO = new Weighted<>(
+        new String[] { "Rua", "Avenida", "Travessa", "Alameda" },
+        new int[] { 70, 20, 5, 5 }
+    );
+
+    private static final String[] NOMES_LOGRADOURO = {
+        "Sete de Setembro", "Quinze de Novembro", "Tiradentes", "Dom Pedro II", "Getúlio Vargas", "Santos Dumont",
+        "Rui Barbosa", "Marechal Deodoro", "Castro Alves", "da Paz", "São João", "Boa Vista", "da Independência", "Brasil",
+        "das Palmeiras", "Bela Vista", "Duque de Caxias", "José de Alencar", "das Flores", "Barão do Rio Branco",
+    };
+
+    /**
+     * Faixas de idade de 10 anos (0-9, 10-19, ... 80-89), no formato da pirâmide etária.
+     */
+    private static final Weighted<Integer> FAIXAS_ETARIAS = new Weighted<>(
+        new Integer[] { 0, 10, 20, 30, 40, 50, 60, 70, 80 },
+        new int[] { 14, 15, 16, 16, 14, 11, 8, 4, 2 }
+    );
+
+    private static final Weighted<Integer> ENDERECOS_POR_PESSOA = new Weighted<>(new Integer[] { 0, 1, 2, 3 }, new int[] { 10, 60, 22, 8 });
+
+    private final long seed;
+
+    private final int threads;
+
+    public SyntheticDataGenerator(long seed, int threads) {
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * Grava {@code pessoas} pessoas, cada uma com zero a {@value #MAX_ENDERECOS} enderecos.
+     *
+     * @param dataSource o banco da aplicação, com o esquema já criado pelo Liquibase.
+     * @param pessoas a quantidade de pessoas.
+     * @return o intervalo de ids e as quantidades gravadas.
+     */
+    public Dataset generate(DataSource dataSource, int pessoas) throws SQLException, InterruptedException {
+        long firstPessoaId;
+        long firstEnderecoId;
+        try (Connection connection = dataSource.getConnection()) {
+            firstPessoaId = nextValue(connection, "pessoa_seq") + 1;
+            firstEnderecoId = nextValue(connection, "endereco_seq") + 1;
+        }
+
+        int chunks = (pessoas + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Future<Integer>> results = new ArrayList<>(chunks);
+        // Um gerador independente por bloco, derivado na ordem dos blocos: o resultado não depende da ordem de execução
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * CHUNK_SIZE;
+                int to = Math.min(pessoas, from + CHUNK_SIZE);
+                SplittableRandom random = root.split();
+                results.add(executor.submit(() -> insertChunk(dataSource, random, from, to, firstPessoaId, firstEnderecoId)));
+            }
+            long enderecos = 0;
+            for (Future<Integer> result : results) {
+                enderecos += result.get();
+            }
+
+            long lastPessoaId = firstPessoaId + pessoas - 1;
+            long lastEnderecoId = firstEnderecoId + (long) pessoas * MAX_ENDERECOS - 1;
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                // Um bloco inteiro acima do último id, qualquer que seja a leitura que o otimizador do Hibernate faz do valor
+                statement.execute("alter sequence pessoa_seq restart with " + (lastPessoaId + 1 + SEQUENCE_INCREMENT));
+                statement.execute("alter sequence endereco_seq restart with " + (lastEnderecoId + 1 + SEQUENCE_INCREMENT));
+            }
+            return new Dataset(seed, firstPessoaId, pessoas, enderecos);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int insertChunk(DataSource dataSource, SplittableRandom random, int from, int to, long firstPessoaId, long firstEnderecoId)
+        throws SQLException {
+        int enderecos = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            int[] enderecosPorPessoa = new int[to - from];
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_PESSOA)) {
+                for (int i = from; i < to; i++) {
+                    insert.setLong(1, firstPessoaId + i);
+                    insert.setString(2, nome(random));
+                    // Cadastros incompletos existem: 2% sem data de nascimento
+                    if (random.nextInt(100) < 2) {
+                        insert.setNull(3, Types.DATE);
+                    } else {
+                        insert.setDate(3, Date.valueOf(dataNascimento(random)));
+                    }
+                    insert.addBatch();
+                    enderecosPorPessoa[i - from] = ENDERECOS_POR_PESSOA.next(random);
+                    if ((i - from + 1) % JDBC_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ENDERECO)) {
+                int pending = 0;
+                for (int i = from; i < to; i++) {
+                    Cidade cidade = CIDADES.next(random);
+                    for (int k = 0; k < enderecosPorPessoa[i - from]; k++) {
+                        insert.setLong(1, firstEnderecoId + (long) i * MAX_ENDERECOS + k);
+                        insert.setString(2, TIPOS_LOGRADOURO.next(random) + " " + NOMES_LOGRADOURO[random.nextInt(NOMES_LOGRADOURO.length)]);
+                        insert.setString(3, cidade.cep(random));
+                        // Números baixos são mais comuns que altos
+                        double r = random.nextDouble();
+                        insert.setString(4, String.valueOf(1 + (int) (r * r * 3_000)));
+                        insert.setString(5, cidade.nome);
+                        insert.setBoolean(6, k == 0);
+                        insert.setLong(7, firstPessoaId + i);
+                        insert.addBatch();
+                        enderecos++;
+                        if (++pending == JDBC_BATCH_SIZE) {
+                            insert.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+        return enderecos;
+    }
+
+    private static String nome(SplittableRandom random) {
+        StringBuilder nome = new StringBuilder(40).append(PRENOMES.next(random)).append(' ').append(SOBRENOMES.next(random));
+        if (random.nextInt(100) < 60) {
+            nome.append(' ').append(SOBRENOMES.next(random));
+        }
+        return nome.toString();
+    }
+
+    private static LocalDate dataNascimento(SplittableRandom random) {
+        int idade = FAIXAS_ETARIAS.next(random) + random.nextInt(10);
+        return REFERENCE_DATE.minusYears(idade).minusDays(random.nextInt(365));
+    }
+
+    private static long nextValue(Connection connection, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("select next value for " + sequence)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * O que foi gravado: as pessoas têm ids contíguos a partir de {@code firstPessoaId}.
+     */
+    public static final class Dataset {
+
+        private final long seed;
+
+        private final long firstPessoaId;
+
+        private final int pessoas;
+
+        private final long enderecos;
+
+        Dataset(long seed, long firstPessoaId, int pessoas, long enderecos) {
+            this.seed = seed;
+            this.firstPessoaId = firstPessoaId;
+            this.pessoas = pessoas;
+            this.enderecos = enderecos;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getFirstPessoaId() {
+            return firstPessoaId;
+        }
+
+        public int getPessoas() {
+            return pessoas;
+        }
+
+        public long getEnderecos() {
+            return enderecos;
+        }
+    }
+
+    static final class Cidade {
+
+        final String nome;
+
+        private final int cepFrom;
+
+        private final int cepTo;
+
+        Cidade(String nome, int cepFrom, int cepTo) {
+            this.nome = nome;
+            this.cepFrom = cepFrom;
+            this.cepTo = cepTo;
+        }
+
+        String cep(SplittableRandom random) {
+            return String.format("%05d%03d", cepFrom + random.nextInt(cepTo - cepFrom), random.nextInt(1_000));
+        }
+    }
+
+    /**
+     * Sorteio com pesos, por busca binária nos pesos acumulados.
+     */
+    static final class Weighted<T> {
+
+        private final T[] values;
+
+        private final int[] cumulative;
+
+        Weighted(T[] values, int[] weights) {
+            if (values.length != weights.length) {
+                throw new IllegalArgumentException("values and weights differ in length");
+            }
+            this.values = values;
+            this.cumulative = new int[weights.length];
+            int sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        T next(SplittableRandom random) {
+            int r = random.nextInt(cumulative[cumulative.length - 1]);
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] > r) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return values[low];
+        }
+    }
+}
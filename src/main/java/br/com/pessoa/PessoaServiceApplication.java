@@ -2,8 +2,14 @@ package br.com.pessoa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@SpringBootApplication
+import br.com.pessoa.config.ApplicationProperties;
+
+// As transações são do JPA; a leitura via R2DBC não precisa de um segundo gerenciador de transações
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
+@EnableConfigurationProperties({ ApplicationProperties.class })
 public class PessoaServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,72 @@
+package br.com.pessoa.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspecto que mede a duração de cada método público dos serviços e serviços de consulta de
+ * {@link br.com.pessoa.domain.Pessoa} e {@link br.com.pessoa.domain.Endereco}, no timer {@value #METRIC_NAME}.
+ * <p>
+ * As tags são só a classe, o método e o tipo da exceção ({@code none} no sucesso), todas de cardinalidade fixa. Roda
+ * antes das transações e do cache, então o tempo inclui o commit e as respostas vindas do cache.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pointcut dos serviços medidos.
+     */
+    @Pointcut(
+        "execution(public * br.com.pessoa.service.impl.PessoaServiceImpl.*(..))" +
+        " || execution(public * br.com.pessoa.service.impl.EnderecoServiceImpl.*(..))" +
+        " || execution(public * br.com.pessoa.service.PessoaQueryService.*(..))" +
+        " || execution(public * br.com.pessoa.service.EnderecoQueryService.*(..))"
+    )
+    public void servicePointcut() {
+        // Método vazio, as implementações estão nos advices.
+    }
+
+    /**
+     * Advice que registra a duração da chamada.
+     *
+     * @param joinPoint join point para o advice.
+     * @return o resultado do método.
+     * @throws Throwable a exceção lançada pelo método, sem alteração.
+     */
+    @Around("servicePointcut()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(
+                Timer
+                    .builder(METRIC_NAME)
+                    .description("Duration of service method calls")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+            );
+        }
+    }
+}
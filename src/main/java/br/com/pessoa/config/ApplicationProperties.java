@@ -0,0 +1,476 @@
+package br.com.pessoa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propriedades específicas do pessoa-service.
+ * <p>
+ * As propriedades são configuradas no arquivo {@code application.properties}, com o prefixo {@code application}.
+ */
+@ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
+public class ApplicationProperties {
+
+    private final Bulk bulk = new Bulk();
+
+    private final Export export = new Export();
+
+    private final Import importing = new Import();
+
+    private final Cache cache = new Cache();
+
+    private final Search search = new Search();
+
+    private final Threads threads = new Threads();
+
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    private final QueryCount queryCount = new QueryCount();
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Import getImport() {
+        return importing;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Threads getThreads() {
+        return threads;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public QueryCount getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Configuração das operações em lote de {@link br.com.pessoa.domain.Pessoa}: carga e consulta por ids.
+     */
+    public static class Bulk {
+
+        /**
+         * Quantidade de entidades persistidas antes de cada flush/clear do contexto de persistência.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Quantidade máxima de itens aceitos em uma única requisição.
+         */
+        private int maxItems = 10_000;
+
+        /**
+         * Quantidade máxima de ids aceitos em uma única consulta em lote.
+         */
+        private int maxIds = 1_000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+
+    /**
+     * Configuração da exportação em streaming de {@link br.com.pessoa.domain.Pessoa}.
+     */
+    public static class Export {
+
+        /**
+         * Quantidade de linhas buscadas do banco a cada ida do cursor JDBC.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    /**
+     * Configuração da importação assíncrona de {@link br.com.pessoa.domain.Endereco}.
+     */
+    public static class Import {
+
+        /**
+         * Diretório onde os corpos das requisições são gravados até o fim do processamento; vazio usa o temporário do sistema.
+         */
+        private String spoolDirectory;
+
+        /**
+         * Tamanho máximo do corpo de uma importação, em bytes.
+         */
+        private long maxBytes = 256L * 1024 * 1024;
+
+        /**
+         * Quantidade de jobs processados ao mesmo tempo; cada um usa no máximo uma conexão do pool por vez.
+         */
+        private int threads = 2;
+
+        /**
+         * Quantidade de jobs aguardando na fila; acima disso a importação é recusada.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Quantidade de linhas gravadas em cada transação.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Quantidade máxima de erros por linha guardados em cada job; os demais só são contados.
+         */
+        private int maxErrors = 1_000;
+
+        /**
+         * Quantidade de jobs encerrados mantidos para consulta; os mais antigos são descartados.
+         */
+        private int maxFinishedJobs = 100;
+
+        public String getSpoolDirectory() {
+            return spoolDirectory;
+        }
+
+        public void setSpoolDirectory(String spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        public int getMaxFinishedJobs() {
+            return maxFinishedJobs;
+        }
+
+        public void setMaxFinishedJobs(int maxFinishedJobs) {
+            this.maxFinishedJobs = maxFinishedJobs;
+        }
+    }
+
+    /**
+     * Configuração das regiões do cache de segundo nível do Hibernate e do cache de resultados de consultas.
+     */
+    public static class Cache {
+
+        /**
+         * Tempo de vida de cada entrada, em segundos, contado a partir da escrita.
+         */
+        private int timeToLiveSeconds = 3600;
+
+        /**
+         * Quantidade máxima de entradas por região.
+         */
+        private long maxEntries = 10_000;
+
+        /**
+         * Tempo de vida, em segundos, dos resultados de consultas por critérios.
+         */
+        private int queryTimeToLiveSeconds = 300;
+
+        /**
+         * Quantidade máxima de resultados de consultas por critérios mantidos em cache.
+         */
+        private long queryMaxEntries = 1_000;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getQueryTimeToLiveSeconds() {
+            return queryTimeToLiveSeconds;
+        }
+
+        public void setQueryTimeToLiveSeconds(int queryTimeToLiveSeconds) {
+            this.queryTimeToLiveSeconds = queryTimeToLiveSeconds;
+        }
+
+        public long getQueryMaxEntries() {
+            return queryMaxEntries;
+        }
+
+        public void setQueryMaxEntries(long queryMaxEntries) {
+            this.queryMaxEntries = queryMaxEntries;
+        }
+    }
+
+    /**
+     * Configuração dos índices de nome em memória: trigramas para {@code nome.contains} e prefixos para o autocompletar.
+     */
+    public static class Search {
+
+        /**
+         * Se os índices são montados na inicialização e usados pelas consultas.
+         */
+        private boolean nomeIndexEnabled = true;
+
+        /**
+         * Quantidade máxima de ids candidatos enviados ao banco; acima disso a consulta segue só com o {@code like}.
+         */
+        private int maxCandidates = 1_000;
+
+        /**
+         * Quantidade máxima de sugestões devolvidas pelo autocompletar de nomes.
+         */
+        private int autocompleteMaxSize = 50;
+
+        /**
+         * Por quanto tempo, em milissegundos, vale a conferência de que o índice de trigramas tem as mesmas pessoas do
+         * banco. Inclusões e remoções feitas por fora da aplicação podem ficar fora das buscas por até esse tempo.
+         */
+        private long coverageCheckMillis = 5_000;
+
+        public boolean isNomeIndexEnabled() {
+            return nomeIndexEnabled;
+        }
+
+        public void setNomeIndexEnabled(boolean nomeIndexEnabled) {
+            this.nomeIndexEnabled = nomeIndexEnabled;
+        }
+
+        public int getMaxCandidates() {
+            return maxCandidates;
+        }
+
+        public void setMaxCandidates(int maxCandidates) {
+            this.maxCandidates = maxCandidates;
+        }
+
+        public int getAutocompleteMaxSize() {
+            return autocompleteMaxSize;
+        }
+
+        public void setAutocompleteMaxSize(int autocompleteMaxSize) {
+            this.autocompleteMaxSize = autocompleteMaxSize;
+        }
+
+        public long getCoverageCheckMillis() {
+            return coverageCheckMillis;
+        }
+
+        public void setCoverageCheckMillis(long coverageCheckMillis) {
+            this.coverageCheckMillis = coverageCheckMillis;
+        }
+    }
+
+    /**
+     * Modo de execução das requisições: threads de plataforma do pool do Tomcat ou threads virtuais.
+     */
+    public static class Threads {
+
+        /**
+         * Se as requisições rodam em threads virtuais; o pool de conexões passa a ser o limite.
+         */
+        private boolean virtualEnabled = false;
+
+        public boolean isVirtualEnabled() {
+            return virtualEnabled;
+        }
+
+        public void setVirtualEnabled(boolean virtualEnabled) {
+            this.virtualEnabled = virtualEnabled;
+        }
+    }
+
+    /**
+     * Configuração do modo write-behind da criação de {@link br.com.pessoa.domain.Pessoa}: as inserções entram em uma fila
+     * e são gravadas em lotes, um commit por lote.
+     */
+    public static class WriteBehind {
+
+        /**
+         * Se o {@code POST /api/pessoas} passa pela fila; desligado, cada requisição faz o próprio commit.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Quantidade máxima de inserções aguardando na fila.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Tempo máximo, em milissegundos, que uma requisição espera por espaço na fila; zero recusa na hora.
+         */
+        private long enqueueTimeoutMillis = 0;
+
+        /**
+         * Tamanho máximo de um lote.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Duração alvo do commit de um lote, em milissegundos; o tamanho dos lotes é ajustado para ficar perto dela.
+         */
+        private long targetCommitMillis = 20;
+
+        /**
+         * Tempo máximo, em milissegundos, que uma requisição espera pelo commit da sua inserção; o mesmo limite do modo
+         * síncrono, que espera no máximo {@code spring.datasource.hikari.connection-timeout} por uma conexão.
+         */
+        private long resultTimeoutMillis = 30_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getEnqueueTimeoutMillis() {
+            return enqueueTimeoutMillis;
+        }
+
+        public void setEnqueueTimeoutMillis(long enqueueTimeoutMillis) {
+            this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getTargetCommitMillis() {
+            return targetCommitMillis;
+        }
+
+        public void setTargetCommitMillis(long targetCommitMillis) {
+            this.targetCommitMillis = targetCommitMillis;
+        }
+
+        public long getResultTimeoutMillis() {
+            return resultTimeoutMillis;
+        }
+
+        public void setResultTimeoutMillis(long resultTimeoutMillis) {
+            this.resultTimeoutMillis = resultTimeoutMillis;
+        }
+    }
+
+    /**
+     * Contagem dos comandos SQL de cada requisição HTTP, devolvida nos cabeçalhos {@code X-Query-Count} e
+     * {@code Server-Timing}.
+     */
+    public static class QueryCount {
+
+        /**
+         * Se o {@code DataSource} é envolvido pelo proxy que conta os comandos.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Quantidade de execuções do mesmo comando em uma requisição acima da qual é registrado um aviso de possível N+1.
+         */
+        private int repeatThreshold = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRepeatThreshold() {
+            return repeatThreshold;
+        }
+
+        public void setRepeatThreshold(int repeatThreshold) {
+            this.repeatThreshold = repeatThreshold;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.pessoa.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executores de tarefas em segundo plano.
+ * <p>
+ * As importações têm um pool próprio e limitado ({@code application.import.threads}): como cada job grava uma transação
+ * por vez, esse limite é também o número máximo de conexões do pool que as importações ocupam. Jobs além da fila
+ * ({@code application.import.queue-capacity}) são recusados em vez de esperar sem limite. No desligamento, os jobs em
+ * andamento têm até um minuto para terminar.
+ * <p>
+ * Com outro executor declarado, o Spring Boot deixa de criar o {@code applicationTaskExecutor}, usado pelas respostas
+ * assíncronas do Spring MVC; ele é declarado aqui como faria a auto-configuração, a partir de {@code spring.task.execution.*}.
+ */
+@Configuration
+public class AsyncConfiguration {
+
+    public static final String IMPORT_TASK_EXECUTOR = "importTaskExecutor";
+
+    @Lazy
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = IMPORT_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor importTaskExecutor(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Import importing = applicationProperties.getImport();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(importing.getThreads());
+        executor.setMaxPoolSize(importing.getThreads());
+        executor.setQueueCapacity(importing.getQueueCapacity());
+        executor.setThreadNamePrefix("import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
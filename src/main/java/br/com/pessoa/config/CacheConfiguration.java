@@ -0,0 +1,80 @@
+package br.com.pessoa.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate e dos caches do Spring, sobre JCache com o Caffeine como provedor.
+ * <p>
+ * Cada região tem limite de entradas e tempo de vida definidos em {@code application.cache.*} e
+ * guarda estatísticas de acertos e falhas, expostas pelo {@code CacheStatisticsMXBean} do JCache.
+ * Os caches do Spring são transacionais: inclusões e remoções só são aplicadas após o commit.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+
+    private final javax.cache.configuration.Configuration<Object, Object> queryJcacheConfiguration;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        jcacheConfiguration = caffeineConfiguration(cache.getMaxEntries(), cache.getTimeToLiveSeconds());
+        queryJcacheConfiguration = caffeineConfiguration(cache.getQueryMaxEntries(), cache.getQueryTimeToLiveSeconds());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, br.com.pessoa.domain.Pessoa.class.getName());
+            createCache(cm, br.com.pessoa.domain.Pessoa.class.getName() + ".enderecos");
+            createCache(cm, br.com.pessoa.domain.Endereco.class.getName());
+            createCache(cm, br.com.pessoa.service.PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, queryJcacheConfiguration);
+        };
+    }
+
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManagerCustomizer() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+
+    private static CaffeineConfiguration<Object, Object> caffeineConfiguration(long maxEntries, int timeToLiveSeconds) {
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(cacheName, configuration);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.pessoa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do {@link javax.sql.DataSource} JDBC usado pelo JPA e pelo Liquibase.
+ * <p>
+ * Com o R2DBC no classpath existe um {@code ConnectionFactory}, e o Spring Boot deixa de criar o {@code DataSource}
+ * sozinho. Aqui ele é montado como faria a auto-configuração, a partir de {@code spring.datasource.*} e
+ * {@code spring.datasource.hikari.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DatabaseConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
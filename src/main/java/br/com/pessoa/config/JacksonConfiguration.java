@@ -0,0 +1,38 @@
+package br.com.pessoa.config;
+
+import br.com.pessoa.service.dto.json.DtoJsonModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuração do Jackson: (de)serializadores escritos à mão dos DTOs e formatos binários negociados pelo {@code Accept},
+ * CBOR ({@code application/cbor}) e Smile ({@code application/x-jackson-smile}).
+ * <p>
+ * O {@link DtoJsonModule}, por ser um bean, é instalado no {@link Jackson2ObjectMapperBuilder} do Spring Boot. Os
+ * conversores partem desse mesmo builder, com os mesmos módulos e {@code spring.jackson.*} do JSON; assim datas e nulos
+ * saem iguais nos três formatos. Como substituem os conversores
+ * padrão de mesma classe, o JSON continua sendo o formato de quem não pede outro.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public DtoJsonModule dtoJsonModule() {
+        return new DtoJsonModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
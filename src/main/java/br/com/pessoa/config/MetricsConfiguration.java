@@ -0,0 +1,26 @@
+package br.com.pessoa.config;
+
+import br.com.pessoa.aop.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas da aplicação, expostas em {@code /management/prometheus}.
+ * <p>
+ * As requisições HTTP ({@code http.server.requests}), o pool Hikari ({@code hikaricp.*}), as estatísticas do Hibernate
+ * ({@code hibernate.*}) e os caches vêm da auto-configuração do Actuator; aqui fica só o timer dos serviços. Os
+ * percentis de cada timer são configurados em {@code management.metrics.distribution.*}.
+ * <p>
+ * As estatísticas do Hibernate só são coletadas com o perfil {@code metrics} ({@code application-metrics.properties});
+ * sem ele, as métricas {@code hibernate.*} não aparecem. O proxy do aspecto vem da auto-configuração de AOP do Spring
+ * Boot.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry meterRegistry) {
+        return new ServiceMetricsAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.pessoa.config;
+
+import br.com.pessoa.web.filter.QueryCountFilter;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Contagem de comandos SQL por requisição ({@code application.query-count.enabled}).
+ * <p>
+ * O {@code DataSource} é envolvido por um proxy do datasource-proxy, que avisa o {@link QueryCountListener} a cada
+ * execução; o pool e suas métricas continuam acessíveis via {@code unwrap}. O {@link QueryCountFilter} fica logo depois
+ * do filtro de encoding, para abranger todo o processamento da requisição.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean).name(beanName).listener(new QueryCountListener()).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(ApplicationProperties applicationProperties) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+            new QueryCountFilter(applicationProperties.getQueryCount().getRepeatThreshold())
+        );
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
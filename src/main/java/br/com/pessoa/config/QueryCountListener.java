@@ -0,0 +1,32 @@
+package br.com.pessoa.config;
+
+import br.com.pessoa.web.filter.RequestQueryStats;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Registra cada execução do {@code DataSource} no {@link RequestQueryStats} da thread atual, se houver um.
+ */
+public class QueryCountListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Só o resultado interessa
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        // Com PreparedStatement o SQL tem "?" no lugar dos valores: execuções com parâmetros diferentes têm o mesmo formato
+        String sql = queryInfoList.size() == 1
+            ? queryInfoList.get(0).getQuery()
+            : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        stats.record(sql, execInfo.getElapsedTime());
+    }
+}
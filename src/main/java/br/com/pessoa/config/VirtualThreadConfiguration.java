@@ -0,0 +1,45 @@
+package br.com.pessoa.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Execução em threads virtuais, ligada por {@code application.threads.virtual-enabled}.
+ * <p>
+ * O Tomcat passa a atender cada requisição em uma thread virtual nova, e com ela as chamadas {@code @Transactional} dos
+ * serviços, que rodam na thread da requisição. Uma thread virtual bloqueada no JDBC libera a thread de plataforma que a
+ * carrega, então {@code server.tomcat.threads.max} deixa de limitar a concorrência: o limite passa a ser o pool do
+ * Hikari ({@code spring.datasource.hikari.maximum-pool-size}), onde as requisições esperam por conexão.
+ * <p>
+ * No JDK 21, uma thread virtual que bloqueia dentro de um bloco {@code synchronized} prende a thread de plataforma que a
+ * carrega ("pinning") até sair dele. O H2 sincroniza cada comando na sessão e o Hikari tem trechos {@code synchronized};
+ * com poucas threads de plataforma (uma por núcleo), requisições presas ali param as demais em vez de liberar a
+ * thread. O {@code RequestExecutionModeBenchmark} roda com {@code -Djdk.tracePinnedThreads=short}, que registra cada
+ * ocorrência; antes de ligar o modo em produção, confira o driver e o pool com a mesma opção.
+ * <p>
+ * O executor é um bean: o Tomcat não encerra executores que não criou, então é o contexto que o fecha
+ * ({@link ExecutorService#close()}, que espera as requisições em andamento) depois de parar o servidor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.threads", name = "virtual-enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService virtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory());
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Spring Framework configuration files.
+ */
+package br.com.pessoa.config;
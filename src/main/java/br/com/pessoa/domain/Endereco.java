@@ -4,12 +4,17 @@ import java.io.Serializable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -18,13 +23,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  */
 @Entity
 @Table(name = "endereco")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Endereco implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enderecoSequenceGenerator")
+    @SequenceGenerator(name = "enderecoSequenceGenerator", sequenceName = "endereco_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -43,7 +49,11 @@ public class Endereco implements Serializable {
     @Column(name = "endereco_principal")
     private Boolean enderecoPrincipal;
 
-    @ManyToOne
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "enderecos" }, allowSetters = true)
     private Pessoa pessoa;
 
@@ -125,6 +135,19 @@ public class Endereco implements Serializable {
         this.enderecoPrincipal = enderecoPrincipal;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Endereco version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Pessoa getPessoa() {
         return this.pessoa;
     }
@@ -163,6 +186,7 @@ public class Endereco implements Serializable {
             ", numero='" + getNumero() + "'" +
             ", cidade='" + getCidade() + "'" +
             ", enderecoPrincipal='" + getEnderecoPrincipal() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -13,6 +13,10 @@ import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -21,13 +25,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  */
 @Entity
 @Table(name = "pessoa")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Pessoa implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoaSequenceGenerator")
+    @SequenceGenerator(name = "pessoaSequenceGenerator", sequenceName = "pessoa_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -37,7 +42,12 @@ public class Pessoa implements Serializable {
     @Column(name = "data_nascimento")
     private LocalDate dataNascimento;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "pessoa")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "pessoa" }, allowSetters = true)
     private Set<Endereco> enderecos = new HashSet<>();
 
@@ -80,6 +90,19 @@ public class Pessoa implements Serializable {
         this.dataNascimento = dataNascimento;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Pessoa version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Endereco> getEnderecos() {
         return this.enderecos;
     }
@@ -133,6 +156,7 @@ public class Pessoa implements Serializable {
             "id=" + getId() +
             ", nome='" + getNome() + "'" +
             ", dataNascimento='" + getDataNascimento() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
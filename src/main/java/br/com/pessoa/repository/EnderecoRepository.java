@@ -1,6 +1,11 @@
 package br.com.pessoa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.pessoa.domain.Endereco;
@@ -9,4 +14,16 @@ import br.com.pessoa.domain.Endereco;
  * Repositório Spring Data JPA para a entidade Endereco.
  */
 @Repository
-public interface EnderecoRepository extends JpaRepository<Endereco, Long> {}
+public interface EnderecoRepository extends JpaRepository<Endereco, Long>, JpaSpecificationExecutor<Endereco> {
+    /**
+     * Os enderecos de uma pessoa. A consulta derivada do nome faria um {@code left join} com {@code pessoa} e filtraria pelo
+     * id da pessoa juntada, o que o H2 não resolve pelo índice de {@code endereco.pessoa_id}; {@code e.pessoa.id} compara
+     * direto a chave estrangeira.
+     *
+     * @param pessoaId o id da pessoa.
+     * @param pageable as informações de paginação.
+     * @return a página de enderecos.
+     */
+    @Query("select e from Endereco e where e.pessoa.id = :pessoaId")
+    Page<Endereco> findAllByPessoaId(@Param("pessoaId") Long pessoaId, Pageable pageable);
+}
@@ -0,0 +1,202 @@
+package br.com.pessoa.repository;
+
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import io.r2dbc.spi.Row;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Leitura não bloqueante de {@link Pessoa} via R2DBC, sobre as mesmas tabelas mantidas pelo JPA.
+ * <p>
+ * As entidades devolvidas não são gerenciadas: têm apenas as colunas da tabela {@code pessoa}, sem os enderecos.
+ */
+@Repository
+public class PessoaReactiveRepository {
+
+    private static final String SELECT = "select p.id, p.nome, p.data_nascimento, p.version from pessoa p";
+
+    private static final String ENDERECOS_OF_PESSOA = "select 1 from endereco e where e.pessoa_id = p.id";
+
+    private final DatabaseClient databaseClient;
+
+    public PessoaReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Busca as pessoas que atendem aos critérios, ordenadas por id. As linhas são emitidas conforme a demanda do assinante.
+     * <p>
+     * Os filtros têm a mesma semântica dos aplicados pelo {@code PessoaQueryService}, exceto pelo {@code distinct}, que não
+     * tem efeito: o filtro de {@code enderecoId} é um {@code exists} e nunca repete uma pessoa.
+     *
+     * @param criteria os critérios a serem aplicados, ou {@code null}.
+     * @return as entidades correspondentes.
+     */
+    public Flux<Pessoa> findByCriteria(PessoaCriteria criteria) {
+        Conditions conditions = buildConditions(criteria);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT + conditions.toWhereClause() + " order by p.id");
+        for (Map.Entry<String, Object> parameter : conditions.parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> toPessoa(row)).all();
+    }
+
+    private static Conditions buildConditions(PessoaCriteria criteria) {
+        Conditions conditions = new Conditions();
+        if (criteria != null) {
+            conditions.range(criteria.getId(), "p.id");
+            conditions.string(criteria.getNome(), "p.nome");
+            conditions.range(criteria.getDataNascimento(), "p.data_nascimento");
+            conditions.enderecoId(criteria.getEnderecoId());
+        }
+        return conditions;
+    }
+
+    private static Pessoa toPessoa(Row row) {
+        return new Pessoa()
+            .id(row.get("id", Long.class))
+            .nome(row.get("nome", String.class))
+            .dataNascimento(row.get("data_nascimento", LocalDate.class))
+            .version(row.get("version", Long.class));
+    }
+
+    /**
+     * Cláusulas {@code where} e seus parâmetros nomeados, montados a partir dos filtros do JHipster.
+     */
+    private static final class Conditions {
+
+        private final List<String> clauses = new ArrayList<>();
+
+        private final Map<String, Object> parameters;
+
+        Conditions() {
+            this(new LinkedHashMap<>());
+        }
+
+        private Conditions(Map<String, Object> parameters) {
+            this.parameters = parameters;
+        }
+
+        /**
+         * Como o {@code QueryService.buildSpecification(RangeFilter, ...)}: {@code equals} e {@code in} valem sozinhos;
+         * os demais operadores são combinados com {@code and}.
+         */
+        void range(RangeFilter<?> filter, String column) {
+            if (filter == null) {
+                return;
+            }
+            if (filter.getEquals() != null) {
+                clauses.add(column + " = " + bind(filter.getEquals()));
+                return;
+            }
+            if (filter.getIn() != null) {
+                clauses.add(in(column, filter.getIn()));
+                return;
+            }
+            if (filter.getSpecified() != null) {
+                clauses.add(specified(column, filter.getSpecified()));
+            }
+            if (filter.getNotEquals() != null) {
+                clauses.add(column + " <> " + bind(filter.getNotEquals()));
+            }
+            if (filter.getNotIn() != null) {
+                clauses.add(notIn(column, filter.getNotIn()));
+            }
+            if (filter.getGreaterThan() != null) {
+                clauses.add(column + " > " + bind(filter.getGreaterThan()));
+            }
+            if (filter.getGreaterThanOrEqual() != null) {
+                clauses.add(column + " >= " + bind(filter.getGreaterThanOrEqual()));
+            }
+            if (filter.getLessThan() != null) {
+                clauses.add(column + " < " + bind(filter.getLessThan()));
+            }
+            if (filter.getLessThanOrEqual() != null) {
+                clauses.add(column + " <= " + bind(filter.getLessThanOrEqual()));
+            }
+        }
+
+        /**
+         * Como o {@code QueryService.buildSpecification(StringFilter, ...)}: só o primeiro operador informado vale, e o
+         * {@code contains} é um {@code upper(coluna) like '%VALOR%'}, sem escapar curingas.
+         */
+        void string(StringFilter filter, String column) {
+            if (filter == null) {
+                return;
+            }
+            if (filter.getEquals() != null) {
+                clauses.add(column + " = " + bind(filter.getEquals()));
+            } else if (filter.getIn() != null) {
+                clauses.add(in(column, filter.getIn()));
+            } else if (filter.getNotIn() != null) {
+                clauses.add(notIn(column, filter.getNotIn()));
+            } else if (filter.getContains() != null) {
+                clauses.add("upper(" + column + ") like " + bind(wrapLikeQuery(filter.getContains())));
+            } else if (filter.getDoesNotContain() != null) {
+                clauses.add("upper(" + column + ") not like " + bind(wrapLikeQuery(filter.getDoesNotContain())));
+            } else if (filter.getNotEquals() != null) {
+                clauses.add(column + " <> " + bind(filter.getNotEquals()));
+            } else if (filter.getSpecified() != null) {
+                clauses.add(specified(column, filter.getSpecified()));
+            }
+        }
+
+        /**
+         * O {@code PessoaQueryService} aplica o filtro sobre um left join com {@code endereco}; aqui as comparações
+         * viram um {@code exists}, que não repete a pessoa quando ela tem vários enderecos.
+         */
+        void enderecoId(LongFilter filter) {
+            if (filter == null) {
+                return;
+            }
+            LongFilter onEndereco = filter;
+            if (filter.getEquals() == null && filter.getIn() == null && Boolean.FALSE.equals(filter.getSpecified())) {
+                // No left join, e.id nulo é a pessoa sem endereco
+                clauses.add("not exists (" + ENDERECOS_OF_PESSOA + ")");
+                onEndereco = filter.copy();
+                onEndereco.setSpecified(null);
+            }
+            Conditions endereco = new Conditions(parameters);
+            endereco.range(onEndereco, "e.id");
+            if (!endereco.clauses.isEmpty()) {
+                clauses.add("exists (" + ENDERECOS_OF_PESSOA + " and " + String.join(" and ", endereco.clauses) + ")");
+            }
+        }
+
+        String toWhereClause() {
+            return clauses.isEmpty() ? "" : " where " + String.join(" and ", clauses);
+        }
+
+        private String in(String column, List<?> values) {
+            return values.isEmpty() ? "1 = 0" : column + " in (" + bind(values) + ")";
+        }
+
+        private String notIn(String column, List<?> values) {
+            return values.isEmpty() ? "1 = 1" : column + " not in (" + bind(values) + ")";
+        }
+
+        private static String specified(String column, boolean specified) {
+            return column + (specified ? " is not null" : " is null");
+        }
+
+        private String bind(Object value) {
+            String name = "p" + parameters.size();
+            parameters.put(name, value);
+            return ":" + name;
+        }
+
+        private static String wrapLikeQuery(String value) {
+            return "%" + value.toUpperCase() + "%";
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package br.com.pessoa.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.pessoa.domain.Pessoa;
@@ -10,4 +19,49 @@ import br.com.pessoa.domain.Pessoa;
  * Repositório Spring Data JPA para a entidade Pessoa.
  */
 @Repository
-public interface PessoaRepository extends JpaRepository<Pessoa, Long>, JpaSpecificationExecutor<Pessoa> {}
+public interface PessoaRepository extends JpaRepository<Pessoa, Long>, JpaSpecificationExecutor<Pessoa>, PessoaRepositoryWithSlice, PessoaRepositoryWithStream {
+    /**
+     * As pessoas cujo nome, normalizado como no {@code NomeAutocompleteIndex} (sem acentos, em maiúsculas e com espaços
+     * simples), começa com {@code normalizedPrefix}. Varre a tabela: só serve enquanto o índice não está montado.
+     *
+     * @param normalizedPrefix o prefixo já normalizado.
+     * @param pageable as informações de paginação.
+     * @return as pessoas correspondentes.
+     */
+    @Query(
+        "select p from Pessoa p where function('REGEXP_REPLACE', function('TRANSLATE', upper(trim(p.nome)), " +
+        "'ÁÀÂÃÄÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑ', 'AAAAAEEEEIIIIOOOOOUUUUCN'), '\\s+', ' ') like ?#{escape([0])}% escape ?#{escapeCharacter()}"
+    )
+    List<Pessoa> findByNomeNormalizedStartingWith(String normalizedPrefix, Pageable pageable);
+
+    @EntityGraph(attributePaths = "enderecos")
+    Optional<Pessoa> findOneWithEnderecosById(Long id);
+
+    /**
+     * A quantidade de pessoas e o maior id, para conferir se um índice em memória ainda cobre a tabela inteira. O maior
+     * id sai da ponta da chave primária, mas a contagem varre a tabela ou um índice na maioria dos bancos (o H2 guarda a
+     * contagem de linhas): quem chama não deve repeti-la a cada consulta.
+     *
+     * @return a quantidade e o maior id, {@code null} se não houver pessoas.
+     */
+    @Query("select count(p.id) as total, max(p.id) as maxId from Pessoa p")
+    Coverage findCoverage();
+
+    /**
+     * Quais dos ids informados existem, sem carregar as pessoas.
+     *
+     * @param ids os ids a serem verificados.
+     * @return os ids existentes.
+     */
+    @Query("select p.id from Pessoa p where p.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projeção de {@link #findCoverage()}.
+     */
+    interface Coverage {
+        long getTotal();
+
+        Long getMaxId();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.pessoa.repository;
+
+import br.com.pessoa.domain.Pessoa;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Consultas paginadas de {@link Pessoa} que não executam o {@code count} total.
+ */
+public interface PessoaRepositoryWithSlice {
+    /**
+     * Busca uma página de entidades lendo {@code size + 1} linhas para saber se existe uma próxima página,
+     * sem a consulta de contagem executada por {@code findAll(Specification, Pageable)}.
+     *
+     * @param specification a especificação a ser aplicada, ou {@code null}.
+     * @param pageable as informações de paginação e ordenação.
+     * @return a {@link Slice} correspondente.
+     */
+    Slice<Pessoa> findSlice(Specification<Pessoa> specification, Pageable pageable);
+}
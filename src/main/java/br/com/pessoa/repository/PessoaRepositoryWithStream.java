@@ -0,0 +1,27 @@
+package br.com.pessoa.repository;
+
+import br.com.pessoa.domain.Pessoa;
+import java.util.stream.Stream;
+import javax.persistence.Tuple;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Leitura em streaming de {@link Pessoa}, sem materializar entidades.
+ */
+public interface PessoaRepositoryWithStream {
+    String ID = "id";
+    String NOME = "nome";
+    String DATA_NASCIMENTO = "dataNascimento";
+    String VERSION = "version";
+
+    /**
+     * Percorre as colunas {@value #ID}, {@value #NOME}, {@value #DATA_NASCIMENTO} e {@value #VERSION} das pessoas que atendem à especificação,
+     * ordenadas por id, através de um cursor somente-leitura com o fetch size informado.
+     * O {@link Stream} deve ser fechado pelo chamador e consumido dentro de uma transação.
+     *
+     * @param specification a especificação a ser aplicada, ou {@code null}.
+     * @param fetchSize a quantidade de linhas buscadas por ida ao banco.
+     * @return as tuplas correspondentes.
+     */
+    Stream<Tuple> streamProjection(Specification<Pessoa> specification, int fetchSize);
+}
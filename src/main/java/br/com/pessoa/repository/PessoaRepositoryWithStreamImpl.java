@@ -0,0 +1,45 @@
+package br.com.pessoa.repository;
+
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.domain.Pessoa_;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+public class PessoaRepositoryWithStreamImpl implements PessoaRepositoryWithStream {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Tuple> streamProjection(Specification<Pessoa> specification, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Pessoa> root = query.from(Pessoa.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.multiselect(
+            root.get(Pessoa_.id).alias(ID),
+            root.get(Pessoa_.nome).alias(NOME),
+            root.get(Pessoa_.dataNascimento).alias(DATA_NASCIMENTO),
+            root.get(Pessoa_.version).alias(VERSION)
+        );
+        query.orderBy(builder.asc(root.get(Pessoa_.id)));
+        return entityManager
+            .createQuery(query)
+            .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(QueryHints.HINT_READONLY, true)
+            .getResultStream();
+    }
+}
@@ -1,4 +1,4 @@
 /**
- * Repositórios Spring Data JPA.
+ * Repositórios Spring Data JPA e consultas reativas via R2DBC.
  */
 package br.com.pessoa.repository;
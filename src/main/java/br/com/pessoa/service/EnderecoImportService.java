@@ -0,0 +1,476 @@
+package br.com.pessoa.service;
+
+import br.com.pessoa.config.ApplicationProperties;
+import br.com.pessoa.config.AsyncConfiguration;
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.ImportJobDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.mapper.EnderecoMapper;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serviço de importação assíncrona de {@link Endereco} a partir de um arquivo JSON ou CSV.
+ * <p>
+ * O corpo da requisição é gravado em disco e o job entra na fila do {@code importTaskExecutor}; a requisição termina
+ * logo em seguida, e o job segue até o fim mesmo que o cliente desconecte. As linhas são gravadas em transações de
+ * {@code application.import.chunk-size} linhas, sem transação aberta durante a leitura do arquivo. Um lote recusado
+ * pelo banco é desfeito e regravado linha a linha, para que só as linhas com problema fiquem de fora.
+ * <p>
+ * Os jobs ficam em memória: os encerrados são mantidos até o limite de {@code application.import.max-finished-jobs}, e
+ * um reinício da aplicação descarta todos.
+ */
+@Service
+public class EnderecoImportService {
+
+    /**
+     * Formato do arquivo importado.
+     */
+    public enum Format {
+        /**
+         * Um array de {@link EnderecoDTO}, no mesmo formato do {@code POST /api/enderecos}.
+         */
+        JSON,
+        /**
+         * Linhas com cabeçalho; colunas {@code logradouro}, {@code cep}, {@code numero}, {@code cidade},
+         * {@code enderecoPrincipal} e {@code pessoaId}.
+         */
+        CSV,
+    }
+
+    /**
+     * O corpo da importação excede {@code application.import.max-bytes}.
+     */
+    public static class TooLargeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public TooLargeException(long maxBytes) {
+            super("Import body exceeds " + maxBytes + " bytes");
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(EnderecoImportService.class);
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<UUID> finishedJobs = new ConcurrentLinkedQueue<>();
+
+    private final ApplicationProperties.Import properties;
+
+    private final EnderecoRepository enderecoRepository;
+
+    private final PessoaRepository pessoaRepository;
+
+    private final EnderecoMapper enderecoMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+
+    private final ObjectReader jsonReader;
+
+    private final ObjectReader csvReader;
+
+    public EnderecoImportService(
+        ApplicationProperties applicationProperties,
+        EnderecoRepository enderecoRepository,
+        PessoaRepository pessoaRepository,
+        EnderecoMapper enderecoMapper,
+        PlatformTransactionManager transactionManager,
+        CacheManager cacheManager,
+        ObjectMapper objectMapper,
+        @Qualifier(AsyncConfiguration.IMPORT_TASK_EXECUTOR) ThreadPoolTaskExecutor importTaskExecutor
+    ) {
+        this.properties = applicationProperties.getImport();
+        this.enderecoRepository = enderecoRepository;
+        this.pessoaRepository = pessoaRepository;
+        this.enderecoMapper = enderecoMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.importTaskExecutor = importTaskExecutor;
+        this.jsonReader = objectMapper.readerFor(EnderecoDTO.class);
+        this.csvReader = new CsvMapper().readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Grava o corpo em disco e coloca o job na fila.
+     *
+     * @param body o conteúdo a ser importado.
+     * @param format o formato do conteúdo.
+     * @return o job criado, na situação {@code QUEUED}.
+     * @throws IOException se o corpo não puder ser lido ou gravado.
+     * @throws TooLargeException se o corpo exceder {@code application.import.max-bytes}.
+     * @throws TaskRejectedException se a fila de jobs estiver cheia.
+     */
+    public ImportJobDTO submit(InputStream body, Format format) throws IOException {
+        Path spool = spool(body);
+        Job job = new Job(UUID.randomUUID(), format, spool);
+        jobs.put(job.id, job);
+        try {
+            importTaskExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        log.debug("Queued Endereco import job {} ({}, {} bytes)", job.id, format, Files.size(spool));
+        return job.toDto();
+    }
+
+    /**
+     * Retorna a situação atual de um job.
+     *
+     * @param id o id do job.
+     * @return o job, se existir.
+     */
+    public Optional<ImportJobDTO> findJob(UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    private Path spool(InputStream body) throws IOException {
+        Path directory = properties.getSpoolDirectory() != null && !properties.getSpoolDirectory().isBlank()
+            ? Paths.get(properties.getSpoolDirectory())
+            : Paths.get(System.getProperty("java.io.tmpdir"), "pessoa-import");
+        Files.createDirectories(directory);
+        Path spool = Files.createTempFile(directory, "enderecos-", ".import");
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                total += read;
+                if (total > properties.getMaxBytes()) {
+                    throw new TooLargeException(properties.getMaxBytes());
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        return spool;
+    }
+
+    private void run(Job job) {
+        job.status = ImportJobDTO.Status.RUNNING;
+        job.startedAt = Instant.now();
+        log.debug("Starting Endereco import job {}", job.id);
+        try (InputStream in = Files.newInputStream(job.spool); MappingIterator<?> values = open(job.format, in)) {
+            List<Row> chunk = new ArrayList<>(properties.getChunkSize());
+            long number = 0;
+            while (values.hasNextValue()) {
+                number++;
+                chunk.add(read(values, job.format, number));
+                job.rowsRead.incrementAndGet();
+                if (chunk.size() == properties.getChunkSize()) {
+                    write(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(job, chunk);
+            }
+            job.status = ImportJobDTO.Status.COMPLETED;
+        } catch (Exception e) {
+            // Arquivo malformado ou banco indisponível: as linhas já gravadas ficam, o restante não é lido
+            log.warn("Endereco import job {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+            job.failure = e.getMessage();
+            job.status = ImportJobDTO.Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            finish(job);
+        }
+        log.debug("Finished Endereco import job {}: {}", job.id, job.toDto());
+    }
+
+    private MappingIterator<?> open(Format format, InputStream in) throws IOException {
+        return format == Format.CSV ? csvReader.readValues(in) : jsonReader.readValues(in);
+    }
+
+    /**
+     * Lê a próxima linha; um valor que não pode ser convertido vira uma linha recusada, e a leitura segue na seguinte.
+     */
+    @SuppressWarnings("unchecked")
+    private Row read(MappingIterator<?> values, Format format, long number) throws IOException {
+        EnderecoDTO endereco;
+        try {
+            Object value = values.nextValue();
+            endereco = format == Format.CSV ? fromCsv((Map<String, String>) value) : (EnderecoDTO) value;
+        } catch (StreamReadException e) {
+            throw e;
+        } catch (DatabindException e) {
+            return Row.rejected(number, "invalidrow", e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return Row.rejected(number, "invalidrow", e.getMessage());
+        }
+        if (endereco == null) {
+            return Row.rejected(number, "itemnull", null);
+        }
+        if (endereco.getId() != null) {
+            return Row.rejected(number, "idexists", null);
+        }
+        return new Row(number, endereco);
+    }
+
+    private static EnderecoDTO fromCsv(Map<String, String> columns) {
+        EnderecoDTO endereco = new EnderecoDTO();
+        endereco.setId(parseLong(columns, "id"));
+        endereco.setLogradouro(text(columns, "logradouro"));
+        endereco.setCep(text(columns, "cep"));
+        endereco.setNumero(text(columns, "numero"));
+        endereco.setCidade(text(columns, "cidade"));
+        String principal = text(columns, "enderecoPrincipal");
+        if (principal != null) {
+            if (!"true".equalsIgnoreCase(principal) && !"false".equalsIgnoreCase(principal)) {
+                throw new IllegalArgumentException("enderecoPrincipal must be true or false: " + principal);
+            }
+            endereco.setEnderecoPrincipal(Boolean.valueOf(principal));
+        }
+        Long pessoaId = parseLong(columns, "pessoaId");
+        if (pessoaId != null) {
+            PessoaDTO pessoa = new PessoaDTO();
+            pessoa.setId(pessoaId);
+            endereco.setPessoa(pessoa);
+        }
+        return endereco;
+    }
+
+    private static String text(Map<String, String> columns, String column) {
+        String value = columns.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Long parseLong(Map<String, String> columns, String column) {
+        String value = text(columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number: " + value);
+        }
+    }
+
+    private void write(Job job, List<Row> chunk) {
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.errorKey != null) {
+                job.reject(row.number, row.errorKey, row.message, properties.getMaxErrors());
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            commit(job, rows);
+        } catch (DataAccessException e) {
+            // O lote inteiro foi desfeito; gravando uma linha por transação, só as recusadas pelo banco ficam de fora
+            log.debug("Endereco import job {} retrying {} rows one by one: {}", job.id, rows.size(), e.getMessage());
+            for (Row row : rows) {
+                try {
+                    commit(job, List.of(row));
+                } catch (DataAccessException rowFailure) {
+                    // O texto do driver fica no log: expõe tabelas, colunas e valores e muda com o banco
+                    log.warn("Endereco import job {} row {} rejected by the database", job.id, row.number, rowFailure);
+                    if (rowFailure instanceof DataIntegrityViolationException) {
+                        job.reject(row.number, "dbconstraint", "Row violates a database constraint", properties.getMaxErrors());
+                    } else {
+                        job.reject(row.number, "dbrejected", "Row rejected by the database", properties.getMaxErrors());
+                    }
+                }
+            }
+        }
+        Cache cache = cacheManager.getCache(PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Grava as linhas em uma transação; os contadores do job só mudam depois do commit.
+     */
+    private void commit(Job job, List<Row> rows) {
+        List<Row> pessoaNotFound = new ArrayList<>();
+        int imported = transactionTemplate.execute(status -> {
+            Set<Long> pessoaIds = rows
+                .stream()
+                .map(row -> row.endereco.getPessoa())
+                .filter(pessoa -> pessoa != null && pessoa.getId() != null)
+                .map(PessoaDTO::getId)
+                .collect(Collectors.toSet());
+            Set<Long> existing = pessoaIds.isEmpty() ? Set.of() : pessoaRepository.findExistingIds(pessoaIds);
+            int saved = 0;
+            for (Row row : rows) {
+                PessoaDTO pessoa = row.endereco.getPessoa();
+                Long pessoaId = pessoa != null ? pessoa.getId() : null;
+                if (pessoaId != null && !existing.contains(pessoaId)) {
+                    pessoaNotFound.add(row);
+                    continue;
+                }
+                Endereco endereco = enderecoMapper.toEntity(row.endereco);
+                // Referência sem SELECT: o INSERT só precisa do id da pessoa
+                endereco.setPessoa(pessoaId != null ? pessoaRepository.getReferenceById(pessoaId) : null);
+                enderecoRepository.save(endereco);
+                saved++;
+            }
+            return saved;
+        });
+        job.rowsImported.addAndGet(imported);
+        for (Row row : pessoaNotFound) {
+            job.reject(row.number, "pessoanotfound", "Pessoa " + row.endereco.getPessoa().getId() + " not found", properties.getMaxErrors());
+        }
+    }
+
+    private void finish(Job job) {
+        try {
+            Files.deleteIfExists(job.spool);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}: {}", job.spool, e.getMessage());
+        }
+        finishedJobs.add(job.id);
+        while (finishedJobs.size() > properties.getMaxFinishedJobs()) {
+            UUID oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * Uma linha do arquivo, com o endereco lido ou o motivo da recusa.
+     */
+    private static final class Row {
+
+        private final long number;
+
+        private final EnderecoDTO endereco;
+
+        private final String errorKey;
+
+        private final String message;
+
+        Row(long number, EnderecoDTO endereco) {
+            this(number, endereco, null, null);
+        }
+
+        private Row(long number, EnderecoDTO endereco, String errorKey, String message) {
+            this.number = number;
+            this.endereco = endereco;
+            this.errorKey = errorKey;
+            this.message = message;
+        }
+
+        static Row rejected(long number, String errorKey, String message) {
+            return new Row(number, null, errorKey, message);
+        }
+    }
+
+    /**
+     * Estado de um job, atualizado pela thread do executor e lido pelas consultas de progresso.
+     */
+    private static final class Job {
+
+        private final UUID id;
+
+        private final Format format;
+
+        private final Path spool;
+
+        private final Instant submittedAt = Instant.now();
+
+        private final AtomicLong rowsRead = new AtomicLong();
+
+        private final AtomicLong rowsImported = new AtomicLong();
+
+        private final AtomicLong rowsRejected = new AtomicLong();
+
+        private final List<ImportJobDTO.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+
+        private volatile Instant startedAt;
+
+        private volatile Instant finishedAt;
+
+        private volatile String failure;
+
+        Job(UUID id, Format format, Path spool) {
+            this.id = id;
+            this.format = format;
+            this.spool = spool;
+        }
+
+        void reject(long row, String errorKey, String message, int maxErrors) {
+            rowsRejected.incrementAndGet();
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportJobDTO.RowError(row, errorKey, message));
+            }
+        }
+
+        ImportJobDTO toDto() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setFormat(format.name().toLowerCase());
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setRowsRead(rowsRead.get());
+            dto.setRowsImported(rowsImported.get());
+            dto.setRowsRejected(rowsRejected.get());
+            if (startedAt != null) {
+                Duration elapsed = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+                dto.setRowsPerSecond(elapsed.isZero() ? 0 : rowsRead.get() * 1000.0 / Math.max(elapsed.toMillis(), 1));
+            }
+            dto.setFailure(failure);
+            synchronized (errors) {
+                dto.setErrors(new ArrayList<>(errors));
+            }
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.pessoa.service;
+
+import br.com.pessoa.domain.*;
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.service.criteria.EnderecoCriteria;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.mapper.EnderecoMapper;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Serviço de execução de consultas complexas para entidades {@link Endereco} no banco de dados.
+ * A entrada principal é um {@link EnderecoCriteria} que é convertido em {@link Especificação},
+ * de forma que todos os filtros sejam aplicados.
+ * Devolve uma {@link List} de {@link EnderecoDTO} ou uma {@link Page} de {@link EnderecoDTO} que cumpre os critérios.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EnderecoQueryService extends QueryService<Endereco> {
+
+    private final Logger log = LoggerFactory.getLogger(EnderecoQueryService.class);
+
+    private final EnderecoRepository enderecoRepository;
+
+    private final EnderecoMapper enderecoMapper;
+
+    public EnderecoQueryService(EnderecoRepository enderecoRepository, EnderecoMapper enderecoMapper) {
+        this.enderecoRepository = enderecoRepository;
+        this.enderecoMapper = enderecoMapper;
+    }
+
+    /**
+     * Retorna uma {@link List} de {@link EnderecoDTO} que corresponde aos critérios do banco de dados.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @return as entidades correspondentes.
+     */
+    @Transactional(readOnly = true)
+    public List<EnderecoDTO> findByCriteria(EnderecoCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Endereco> specification = createSpecification(criteria);
+        return enderecoMapper.toDto(enderecoRepository.findAll(specification));
+    }
+
+    /**
+     * Retorna uma {@link Page} de {@link EnderecoDTO} que corresponde aos critérios do banco de dados.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @param page A página que deve ser retornada.
+     * @return as entidades correspondentes.
+     */
+    @Transactional(readOnly = true)
+    public Page<EnderecoDTO> findByCriteria(EnderecoCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Endereco> specification = createSpecification(criteria);
+        return enderecoRepository.findAll(specification, page).map(enderecoMapper::toDto);
+    }
+
+    /**
+     * Retorna o número de entidades correspondentes no banco de dados.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @return o número de entidades correspondentes.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(EnderecoCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Endereco> specification = createSpecification(criteria);
+        return enderecoRepository.count(specification);
+    }
+
+    /**
+     * Função para converter {@link EnderecoCriteria} em {@link Especificação}.
+     * O filtro por pessoa usa a chave estrangeira {@code pessoa_id} diretamente, sem junção com a tabela {@code pessoa}.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @return a {@link Especificação} correspondente da entidade.
+     */
+    protected Specification<Endereco> createSpecification(EnderecoCriteria criteria) {
+        Specification<Endereco> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Endereco_.id));
+            }
+            if (criteria.getLogradouro() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getLogradouro(), Endereco_.logradouro));
+            }
+            if (criteria.getCep() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCep(), Endereco_.cep));
+            }
+            if (criteria.getNumero() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNumero(), Endereco_.numero));
+            }
+            if (criteria.getCidade() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCidade(), Endereco_.cidade));
+            }
+            if (criteria.getEnderecoPrincipal() != null) {
+                specification = specification.and(buildSpecification(criteria.getEnderecoPrincipal(), Endereco_.enderecoPrincipal));
+            }
+            if (criteria.getPessoaId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getPessoaId(), root -> root.get(Endereco_.pessoa).get(Pessoa_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -21,15 +21,17 @@ public interface EnderecoService {
      * Atualiza um endereco.
      *
      * @param enderecoDTO a entidade a ser atualizada.
-     * @return a entidade persistida.
+     * @return a entidade persistida, ou vazio se ela não existir.
+     * @throws org.springframework.dao.OptimisticLockingFailureException se a versão informada não for a atual.
      */
-    EnderecoDTO update(EnderecoDTO enderecoDTO);
+    Optional<EnderecoDTO> update(EnderecoDTO enderecoDTO);
 
     /**
      * Atualiza parcialmente um endereco.
      *
      * @param enderecoDTO a entidade a ser atualizada parcialmente.
-     * @return a entidade persistida.
+     * @return a entidade persistida, ou vazio se ela não existir.
+     * @throws org.springframework.dao.OptimisticLockingFailureException se a versão informada não for a atual.
      */
     Optional<EnderecoDTO> partialUpdate(EnderecoDTO enderecoDTO);
 
@@ -41,6 +43,15 @@ public interface EnderecoService {
      */
     Page<EnderecoDTO> findAll(Pageable pageable);
 
+    /**
+     * Pegue os enderecos de uma pessoa.
+     *
+     * @param pessoaId o id da pessoa.
+     * @param pageable as informações de paginação.
+     * @return a lista de entidades.
+     */
+    Page<EnderecoDTO> findAllByPessoaId(Long pessoaId, Pageable pageable);
+
     /**
      * Obtenha o endereco "id".
      *
@@ -49,6 +60,14 @@ public interface EnderecoService {
      */
     Optional<EnderecoDTO> findOne(Long id);
 
+    /**
+     * Obtenha a versão atual do endereco "id", sem montar o DTO.
+     *
+     * @param id o id da entidade.
+     * @return a versão da entidade.
+     */
+    Optional<Long> findVersion(Long id);
+
     /**
      * Exclua o "id" endereco.
      *
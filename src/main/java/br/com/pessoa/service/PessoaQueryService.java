@@ -1,19 +1,41 @@
 package br.com.pessoa.service;
 
+import br.com.pessoa.config.ApplicationProperties;
 import br.com.pessoa.domain.*;
 import br.com.pessoa.domain.Pessoa;
 import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.repository.PessoaRepositoryWithStream;
 import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.criteria.PessoaCursor;
+import br.com.pessoa.service.dto.PessoaAutocompleteDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
 import br.com.pessoa.service.mapper.PessoaMapper;
+import br.com.pessoa.service.search.NomeAutocompleteIndex;
+import br.com.pessoa.service.search.NomeTrigramIndex;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
 
@@ -27,15 +49,38 @@ import tech.jhipster.service.QueryService;
 @Transactional(readOnly = true)
 public class PessoaQueryService extends QueryService<Pessoa> {
 
+    /**
+     * Cache dos resultados de {@link #findByCriteria(PessoaCriteria, Pageable)} e {@link #countByCriteria(PessoaCriteria)},
+     * indexado pelos critérios e pela paginação. É esvaziado a cada escrita em {@link Pessoa} ou {@link Endereco}.
+     */
+    public static final String PESSOAS_BY_CRITERIA_CACHE = "pessoasByCriteria";
+
     private final Logger log = LoggerFactory.getLogger(PessoaQueryService.class);
 
     private final PessoaRepository pessoaRepository;
 
     private final PessoaMapper pessoaMapper;
 
-    public PessoaQueryService(PessoaRepository pessoaRepository, PessoaMapper pessoaMapper) {
+    private final ApplicationProperties applicationProperties;
+
+    private final NomeTrigramIndex nomeTrigramIndex;
+
+    private final NomeAutocompleteIndex nomeAutocompleteIndex;
+
+    private volatile CoverageCheck coverageCheck;
+
+    public PessoaQueryService(
+        PessoaRepository pessoaRepository,
+        PessoaMapper pessoaMapper,
+        ApplicationProperties applicationProperties,
+        NomeTrigramIndex nomeTrigramIndex,
+        NomeAutocompleteIndex nomeAutocompleteIndex
+    ) {
         this.pessoaRepository = pessoaRepository;
         this.pessoaMapper = pessoaMapper;
+        this.applicationProperties = applicationProperties;
+        this.nomeTrigramIndex = nomeTrigramIndex;
+        this.nomeAutocompleteIndex = nomeAutocompleteIndex;
     }
 
     /**
@@ -50,6 +95,29 @@ public class PessoaQueryService extends QueryService<Pessoa> {
         return pessoaMapper.toDto(pessoaRepository.findAll(specification));
     }
 
+    /**
+     * Entrega ao {@code consumer}, uma a uma, as {@link PessoaDTO} que correspondem aos critérios do banco de dados.
+     * As linhas são lidas por um cursor JDBC com fetch size limitado e convertidas direto da projeção,
+     * sem carregar entidades nem montar uma {@link List}, de forma que a memória não cresce com o resultado.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @param consumer quem recebe cada registro, na ordem do id.
+     */
+    @Transactional(readOnly = true)
+    public void streamByCriteria(PessoaCriteria criteria, Consumer<PessoaDTO> consumer) {
+        log.debug("stream by criteria : {}", criteria);
+        final Specification<Pessoa> specification = createSpecification(criteria);
+        try (Stream<Tuple> rows = pessoaRepository.streamProjection(specification, applicationProperties.getExport().getFetchSize())) {
+            rows.forEach(row -> {
+                PessoaDTO pessoaDTO = new PessoaDTO();
+                pessoaDTO.setId(row.get(PessoaRepositoryWithStream.ID, Long.class));
+                pessoaDTO.setNome(row.get(PessoaRepositoryWithStream.NOME, String.class));
+                pessoaDTO.setDataNascimento(row.get(PessoaRepositoryWithStream.DATA_NASCIMENTO, LocalDate.class));
+                pessoaDTO.setVersion(row.get(PessoaRepositoryWithStream.VERSION, Long.class));
+                consumer.accept(pessoaDTO);
+            });
+        }
+    }
+
     /**
      * Retorna uma {@link Page} de {@link PessoaDTO} que corresponde aos critérios do banco de dados.
      * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
@@ -57,18 +125,89 @@ public class PessoaQueryService extends QueryService<Pessoa> {
      * @return as entidades correspondentes.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PESSOAS_BY_CRITERIA_CACHE, key = "{'page', #criteria, #page}")
     public Page<PessoaDTO> findByCriteria(PessoaCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Pessoa> specification = createSpecification(criteria);
         return pessoaRepository.findAll(specification, page).map(pessoaMapper::toDto);
     }
 
+    /**
+     * Retorna uma {@link Slice} de {@link PessoaDTO} que corresponde aos critérios do banco de dados.
+     * Lê {@code size + 1} linhas para saber se há próxima página, sem executar o {@code count} total.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @param page A página que deve ser retornada.
+     * @return as entidades correspondentes.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PessoaDTO> findSliceByCriteria(PessoaCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Pessoa> specification = createSpecification(criteria);
+        return pessoaRepository.findSlice(specification, page).map(pessoaMapper::toDto);
+    }
+
+    /**
+     * Retorna uma {@link Slice} de {@link PessoaDTO} que corresponde aos critérios, paginada por keyset:
+     * os registros são buscados a partir da posição do cursor, sem {@code OFFSET} e sem {@code count}.
+     * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @param cursor A posição a partir da qual a página deve ser lida.
+     * @param size O tamanho da página.
+     * @return as entidades correspondentes.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PessoaDTO> findByCriteriaAfter(PessoaCriteria criteria, PessoaCursor cursor, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, cursor, size);
+        Specification<Pessoa> specification = createSpecification(criteria);
+        if (!cursor.isFirst()) {
+            specification = specification.and(createSeekSpecification(cursor));
+        }
+        return pessoaRepository.findSlice(specification, PageRequest.of(0, size, cursor.toSort())).map(pessoaMapper::toDto);
+    }
+
+    /**
+     * Retorna as pessoas cujo nome começa com {@code prefix}, em ordem alfabética, para o autocompletar.
+     * A resposta vem do {@link NomeAutocompleteIndex}, que ignora acentos; enquanto ele não estiver montado,
+     * a consulta vai ao banco com um {@code like 'prefixo%'} sobre o nome normalizado da mesma forma.
+     * <p>
+     * Sem transação própria: cada tecla digitada é uma chamada, e quando o índice responde não é preciso conexão.
+     * Só a consulta ao banco abre a sua, pelo repositório.
+     * @param prefix O início do nome digitado.
+     * @param size A quantidade máxima de sugestões.
+     * @return as sugestões correspondentes.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PessoaAutocompleteDTO> autocomplete(String prefix, int size) {
+        log.debug("autocomplete : {}, size: {}", prefix, size);
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return nomeAutocompleteIndex
+            .search(prefix, size)
+            .map(suggestions ->
+                suggestions
+                    .stream()
+                    .map(suggestion -> new PessoaAutocompleteDTO(suggestion.getId(), suggestion.getNome()))
+                    .collect(Collectors.toList())
+            )
+            .orElseGet(() ->
+                pessoaRepository
+                    .findByNomeNormalizedStartingWith(
+                        NomeAutocompleteIndex.normalize(prefix),
+                        PageRequest.of(0, size, Sort.by(PessoaCursor.NOME, PessoaCursor.ID))
+                    )
+                    .stream()
+                    .map(pessoa -> new PessoaAutocompleteDTO(pessoa.getId(), pessoa.getNome()))
+                    .collect(Collectors.toList())
+            );
+    }
+
     /**
      * Retorna o número de entidades correspondentes no banco de dados.
      * @param critérios O objeto que contém todos os filtros aos quais as entidades devem corresponder.
      * @return o número de entidades correspondentes.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PESSOAS_BY_CRITERIA_CACHE, key = "{'count', #criteria}")
     public long countByCriteria(PessoaCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Pessoa> specification = createSpecification(criteria);
@@ -92,6 +231,9 @@ public class PessoaQueryService extends QueryService<Pessoa> {
             }
             if (criteria.getNome() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getNome(), Pessoa_.nome));
+                if (criteria.getNome().getContains() != null) {
+                    specification = specification.and(createNomeCandidatesSpecification(criteria.getNome().getContains()));
+                }
             }
             if (criteria.getDataNascimento() != null) {
                 specification = specification.and(buildRangeSpecification(criteria.getDataNascimento(), Pessoa_.dataNascimento));
@@ -105,4 +247,118 @@ public class PessoaQueryService extends QueryService<Pessoa> {
         }
         return specification;
     }
+
+    /**
+     * Função para restringir um {@code nome.contains} aos ids que o {@link NomeTrigramIndex} aponta como candidatos,
+     * de forma que o banco resolva a consulta pela chave primária em vez de varrer a tabela com o {@code like}.
+     * O {@code like} original continua aplicado; se o índice não puder responder, nada é acrescentado.
+     * <p>
+     * Os candidatos só valem se o índice tiver as mesmas pessoas do banco: uma pessoa gravada sem passar pelo
+     * {@link PessoaService} ficaria de fora do resultado. Se a conferência não bater, a busca fica só com o {@code like};
+     * veja {@link #nomeIndexCoversTable()}.
+     * @param contains O trecho procurado no nome.
+     * @return a {@link Especificação} correspondente da entidade, ou {@code null} se o índice não for usado.
+     */
+    protected Specification<Pessoa> createNomeCandidatesSpecification(String contains) {
+        Optional<long[]> candidates = nomeTrigramIndex.search(contains, applicationProperties.getSearch().getMaxCandidates());
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (!nomeIndexCoversTable()) {
+            return null;
+        }
+        long[] ids = candidates.get();
+        if (ids.length == 0) {
+            return (root, query, builder) -> builder.disjunction();
+        }
+        List<Long> boxedIds = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        return (root, query, builder) -> root.get(Pessoa_.id).in(boxedIds);
+    }
+
+    /**
+     * Confere se o {@link NomeTrigramIndex} tem as mesmas pessoas do banco, pela contagem e pelo maior id.
+     * <p>
+     * A contagem varre a tabela na maioria dos bancos, então o resultado é guardado por
+     * {@code application.search.coverage-check-millis} ou até a próxima reconstrução do índice. Enquanto isso, as
+     * escritas pelo {@link PessoaService} mudam o banco e o índice juntas e não invalidam a conferência; uma inclusão ou
+     * remoção feita por fora só é percebida na conferência seguinte.
+     */
+    private boolean nomeIndexCoversTable() {
+        long now = System.nanoTime();
+        long generation = nomeTrigramIndex.getGeneration();
+        CoverageCheck check = coverageCheck;
+        if (
+            check != null &&
+            check.generation == generation &&
+            now - check.checkedAt < TimeUnit.MILLISECONDS.toNanos(applicationProperties.getSearch().getCoverageCheckMillis())
+        ) {
+            return check.covers;
+        }
+        PessoaRepository.Coverage coverage = pessoaRepository.findCoverage();
+        long maxId = coverage.getMaxId() != null ? coverage.getMaxId() : 0L;
+        boolean covers = nomeTrigramIndex.covers(coverage.getTotal(), maxId);
+        if (!covers) {
+            log.debug("Nome index does not cover {} Pessoas up to id {}, using like only", coverage.getTotal(), maxId);
+        }
+        coverageCheck = new CoverageCheck(generation, now, covers);
+        return covers;
+    }
+
+    /**
+     * Função para converter um {@link PessoaCursor} no predicado de seek {@code (chave, id) > (último valor, último id)},
+     * respeitando a direção da ordenação. Valores nulos seguem a ordenação do H2, que os trata como os menores valores.
+     * @param cursor A posição do último registro entregue.
+     * @return a {@link Especificação} correspondente da entidade.
+     */
+    protected Specification<Pessoa> createSeekSpecification(PessoaCursor cursor) {
+        return (root, query, builder) -> {
+            boolean ascending = cursor.getDirection().isAscending();
+            Path<Long> id = root.get(Pessoa_.id);
+            Predicate idAfter = ascending ? builder.greaterThan(id, cursor.getLastId()) : builder.lessThan(id, cursor.getLastId());
+            switch (cursor.getProperty()) {
+                case PessoaCursor.NOME:
+                    return seek(builder, root.get(Pessoa_.nome), (String) cursor.getLastValue(), idAfter, ascending);
+                case PessoaCursor.DATA_NASCIMENTO:
+                    return seek(builder, root.get(Pessoa_.dataNascimento), (LocalDate) cursor.getLastValue(), idAfter, ascending);
+                default:
+                    return idAfter;
+            }
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate seek(
+        CriteriaBuilder builder,
+        Path<T> key,
+        T lastValue,
+        Predicate idAfter,
+        boolean ascending
+    ) {
+        if (lastValue == null) {
+            Predicate sameKey = builder.and(builder.isNull(key), idAfter);
+            return ascending ? builder.or(sameKey, builder.isNotNull(key)) : sameKey;
+        }
+        Predicate sameKey = builder.and(builder.equal(key, lastValue), idAfter);
+        if (ascending) {
+            return builder.or(builder.greaterThan(key, lastValue), sameKey);
+        }
+        return builder.or(builder.lessThan(key, lastValue), sameKey, builder.isNull(key));
+    }
+
+    /**
+     * Resultado de uma conferência do {@link NomeTrigramIndex} com o banco.
+     */
+    private static final class CoverageCheck {
+
+        private final long generation;
+
+        private final long checkedAt;
+
+        private final boolean covers;
+
+        private CoverageCheck(long generation, long checkedAt, boolean covers) {
+            this.generation = generation;
+            this.checkedAt = checkedAt;
+            this.covers = covers;
+        }
+    }
 }
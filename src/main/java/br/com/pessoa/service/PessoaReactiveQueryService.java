@@ -0,0 +1,44 @@
+package br.com.pessoa.service;
+
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.PessoaReactiveRepository;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.mapper.PessoaMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Serviço de consultas não bloqueantes para entidades {@link Pessoa}, com os mesmos {@link PessoaCriteria} do
+ * {@link PessoaQueryService}.
+ * <p>
+ * As consultas vão ao banco via R2DBC, sem ocupar uma thread por requisição nem uma conexão JDBC, e não passam pelos
+ * caches nem pelos índices de nome em memória do {@link PessoaQueryService}.
+ */
+@Service
+public class PessoaReactiveQueryService {
+
+    private final Logger log = LoggerFactory.getLogger(PessoaReactiveQueryService.class);
+
+    private final PessoaReactiveRepository pessoaReactiveRepository;
+
+    private final PessoaMapper pessoaMapper;
+
+    public PessoaReactiveQueryService(PessoaReactiveRepository pessoaReactiveRepository, PessoaMapper pessoaMapper) {
+        this.pessoaReactiveRepository = pessoaReactiveRepository;
+        this.pessoaMapper = pessoaMapper;
+    }
+
+    /**
+     * Retorna um {@link Flux} de {@link PessoaDTO} que corresponde aos critérios, na ordem do id.
+     * As linhas são lidas conforme a demanda de quem assina, respeitando o backpressure.
+     * @param criteria O objeto que contém todos os filtros aos quais as entidades devem corresponder.
+     * @return as entidades correspondentes.
+     */
+    public Flux<PessoaDTO> findByCriteria(PessoaCriteria criteria) {
+        log.debug("find reactive by criteria : {}", criteria);
+        return pessoaReactiveRepository.findByCriteria(criteria).map(pessoaMapper::toDto);
+    }
+}
@@ -1,6 +1,10 @@
 package br.com.pessoa.service;
 
+import br.com.pessoa.service.dto.PessoaBatchItemDTO;
+import br.com.pessoa.service.dto.PessoaBulkResultDTO;
+import br.com.pessoa.service.dto.PessoaCompletoDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,19 +21,29 @@ public interface PessoaService {
      */
     PessoaDTO save(PessoaDTO pessoaDTO);
 
+    /**
+     * Salve várias pessoas em lote, com inserts agrupados via JDBC batching.
+     *
+     * @param pessoaDTOs as entidades a serem salvas.
+     * @return o resultado de cada item, na mesma ordem da entrada.
+     */
+    List<PessoaBulkResultDTO> saveAll(List<PessoaDTO> pessoaDTOs);
+
     /**
      *Atualiza uma pessoa.
      *
      * @param pessoaDTO a entidade a ser atualizada.
-     * @return a entidade persistida.
+     * @return a entidade persistida, ou vazio se ela não existir.
+     * @throws org.springframework.dao.OptimisticLockingFailureException se a versão informada não for a atual.
      */
-    PessoaDTO update(PessoaDTO pessoaDTO);
+    Optional<PessoaDTO> update(PessoaDTO pessoaDTO);
 
     /**
      *Atualiza parcialmente uma pessoa.
      *
      * @param pessoaDTO a entidade a ser atualizada parcialmente.
-     * @return a entidade persistida.
+     * @return a entidade persistida, ou vazio se ela não existir.
+     * @throws org.springframework.dao.OptimisticLockingFailureException se a versão informada não for a atual.
      */
     Optional<PessoaDTO> partialUpdate(PessoaDTO pessoaDTO);
 
@@ -49,6 +63,30 @@ public interface PessoaService {
      */
     Optional<PessoaDTO> findOne(Long id);
 
+    /**
+     * Obtenha a versão atual da pessoa "id", sem montar o DTO.
+     *
+     * @param id o id da entidade.
+     * @return a versão da entidade.
+     */
+    Optional<Long> findVersion(Long id);
+
+    /**
+     * Obtenha a "id" pessoa com todos os seus enderecos, em uma única consulta.
+     *
+     * @param id o id da entidade.
+     * @return a entidade com os enderecos ordenados por id.
+     */
+    Optional<PessoaCompletoDTO> findOneCompleto(Long id);
+
+    /**
+     * Obtenha várias pessoas pelos ids, com uma única consulta.
+     *
+     * @param ids os ids das entidades; podem se repetir.
+     * @return um item por id, na mesma ordem da entrada, indicando se a entidade foi encontrada.
+     */
+    List<PessoaBatchItemDTO> findAllById(List<Long> ids);
+
     /**
      * Exclua o "id" pessoa.
      *
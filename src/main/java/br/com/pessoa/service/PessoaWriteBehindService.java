@@ -0,0 +1,332 @@
+package br.com.pessoa.service;
+
+import br.com.pessoa.config.ApplicationProperties;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.mapper.PessoaMapper;
+import br.com.pessoa.service.search.PessoaNomeChangedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Criação de {@link Pessoa} em modo write-behind ({@code application.write-behind.enabled}).
+ * <p>
+ * Cada inserção entra em uma fila limitada e a thread que a chamou espera; uma única thread de gravação esvazia a fila em
+ * lotes e faz um commit por lote, liberando as chamadas do lote só depois dele. Sob carga, o custo do commit é dividido
+ * entre todas as pessoas do lote.
+ * <p>
+ * O tamanho máximo do lote acompanha a duração observada dos commits: dobra enquanto lotes cheios confirmam abaixo da
+ * metade de {@code target-commit-millis} e encolhe na proporção quando passam do alvo. Um lote recusado pelo banco é
+ * regravado uma pessoa por transação, para que o erro chegue só a quem o causou.
+ * <p>
+ * A gravação acontece em outra transação: quem chama dentro de uma transação própria não consegue desfazê-la. A espera
+ * pelo commit é limitada a {@code result-timeout-millis}, como a espera por uma conexão no modo síncrono.
+ * <p>
+ * As linhas de cada commit vão para o resumo {@value #BATCH_SIZE_METRIC}.
+ */
+@Service
+public class PessoaWriteBehindService {
+
+    /**
+     * A fila está cheia e a inserção não entrou dentro de {@code application.write-behind.enqueue-timeout-millis}.
+     */
+    public static class QueueFullException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public QueueFullException() {
+            super("Pessoa write-behind queue is full");
+        }
+    }
+
+    public static final String BATCH_SIZE_METRIC = "pessoa.write.behind.batch.size";
+
+    private static final long POLL_MILLIS = 100;
+
+    private static final long SHUTDOWN_MILLIS = 30_000;
+
+    private final Logger log = LoggerFactory.getLogger(PessoaWriteBehindService.class);
+
+    private final ApplicationProperties.WriteBehind properties;
+
+    private final PessoaRepository pessoaRepository;
+
+    private final PessoaMapper pessoaMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DistributionSummary batchSize;
+
+    private final BlockingQueue<Pending> queue;
+
+    private volatile boolean running;
+
+    private volatile int batchLimit;
+
+    private Thread flusher;
+
+    public PessoaWriteBehindService(
+        ApplicationProperties applicationProperties,
+        PessoaRepository pessoaRepository,
+        PessoaMapper pessoaMapper,
+        PlatformTransactionManager transactionManager,
+        CacheManager cacheManager,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getWriteBehind();
+        this.pessoaRepository = pessoaRepository;
+        this.pessoaMapper = pessoaMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.batchSize =
+            DistributionSummary.builder(BATCH_SIZE_METRIC).description("Pessoas inserted per write-behind commit").register(meterRegistry);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchLimit = Math.min(properties.getMaxBatchSize(), 16);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "pessoa-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Pessoa write-behind enabled: queue capacity {}, max batch size {}", properties.getQueueCapacity(), properties.getMaxBatchSize());
+    }
+
+    /**
+     * Para de aceitar inserções e grava o que ainda estiver na fila.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(SHUTDOWN_MILLIS);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Coloca a pessoa na fila e espera o commit do lote em que ela for gravada.
+     *
+     * @param pessoaDTO a pessoa a ser criada, sem id.
+     * @return a pessoa persistida.
+     * @throws QueueFullException se a fila continuar cheia depois de {@code enqueue-timeout-millis}.
+     * @throws QueryTimeoutException se o commit não acontecer em {@code result-timeout-millis}; a pessoa que ainda estiver
+     * na fila não é mais gravada, mas a de um lote já em andamento pode ter sido.
+     * @throws org.springframework.dao.DataAccessException se o banco recusar a pessoa.
+     */
+    public PessoaDTO save(PessoaDTO pessoaDTO) {
+        if (!running) {
+            throw new IllegalStateException("Pessoa write-behind is not running");
+        }
+        Pending pending = new Pending(pessoaDTO);
+        if (!offer(pending)) {
+            throw new QueueFullException();
+        }
+        // O flusher pode ter parado e esvaziado a fila entre a checagem acima e o offer: ninguém mais veria esta inserção
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Pessoa write-behind is not running");
+        }
+        try {
+            return pending.result.get(properties.getResultTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Pessoa write-behind failed", e.getCause());
+        } catch (TimeoutException e) {
+            QueryTimeoutException timeout = new QueryTimeoutException(
+                "Pessoa write-behind did not commit within " + properties.getResultTimeoutMillis() + " ms"
+            );
+            pending.result.completeExceptionally(timeout);
+            throw timeout;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            IllegalStateException interrupted = new IllegalStateException("Interrupted while waiting for Pessoa write-behind");
+            pending.result.completeExceptionally(interrupted);
+            throw interrupted;
+        }
+    }
+
+    private boolean offer(Pending pending) {
+        if (properties.getEnqueueTimeoutMillis() <= 0) {
+            return queue.offer(pending);
+        }
+        try {
+            return queue.offer(pending, properties.getEnqueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    int getBatchLimit() {
+        return batchLimit;
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(properties.getMaxBatchSize());
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // Só o que já está na fila: sob carga os lotes crescem sozinhos, e sem carga ninguém espera por companhia
+                    queue.drainTo(batch, batchLimit - 1);
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (RuntimeException e) {
+                    log.error("Unexpected error in Pessoa write-behind flusher", e);
+                    batch.forEach(pending -> pending.result.completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        } finally {
+            // Também quando um Error derruba a thread: novas inserções são recusadas, e as pendentes recebem o erro. O
+            // running vem antes do drainTo, para que o save que enfileirar depois dele veja a parada e retire a sua
+            running = false;
+            IllegalStateException stopped = new IllegalStateException("Pessoa write-behind is not running");
+            batch.forEach(pending -> pending.result.completeExceptionally(stopped));
+            List<Pending> late = new ArrayList<>();
+            queue.drainTo(late);
+            late.forEach(pending -> pending.result.completeExceptionally(stopped));
+            log.debug("Pessoa write-behind flusher stopped");
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        // Quem esgotou a espera já recebeu o erro: a pessoa dele não é mais gravada
+        batch.removeIf(pending -> pending.result.isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<PessoaDTO> saved;
+        try {
+            saved = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            log.debug("Pessoa write-behind batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            flushOneByOne(batch);
+            evictQueryCache();
+            return;
+        }
+        long commitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        batchSize.record(batch.size());
+        evictQueryCache();
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(saved.get(i));
+        }
+        int previous = batchLimit;
+        batchLimit = nextBatchLimit(previous, batch.size(), commitMillis, properties.getTargetCommitMillis(), properties.getMaxBatchSize());
+        if (batchLimit != previous) {
+            log.debug("Pessoa write-behind batch limit {} -> {} ({} rows committed in {} ms)", previous, batchLimit, batch.size(), commitMillis);
+        }
+    }
+
+    private void flushOneByOne(List<Pending> batch) {
+        for (Pending pending : batch) {
+            try {
+                pending.result.complete(transactionTemplate.execute(status -> insert(List.of(pending)).get(0)));
+                batchSize.record(1);
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Insere o lote na transação corrente. Cada tentativa parte do DTO: a entidade de uma tentativa desfeita já tem id e
+     * versão atribuídos.
+     */
+    private List<PessoaDTO> insert(List<Pending> batch) {
+        List<Pessoa> pessoas = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Pessoa pessoa = pessoaRepository.save(pessoaMapper.toEntity(pending.pessoaDTO));
+            eventPublisher.publishEvent(PessoaNomeChangedEvent.saved(pessoa.getId(), pessoa.getNome()));
+            pessoas.add(pessoa);
+        }
+        // Os inserts saem aqui, agrupados pelo JDBC batching, e a versão devolvida já é a gravada
+        pessoaRepository.flush();
+        List<PessoaDTO> result = new ArrayList<>(pessoas.size());
+        for (Pessoa pessoa : pessoas) {
+            result.add(pessoaMapper.toDto(pessoa));
+        }
+        return result;
+    }
+
+    private void evictQueryCache() {
+        Cache cache = cacheManager.getCache(PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Próximo limite de tamanho do lote, a partir do lote que acabou de confirmar.
+     * <p>
+     * Lotes que não encheram não dizem nada sobre lotes maiores, e mantêm o limite. Lotes cheios e baratos dobram o limite;
+     * lotes acima do alvo o reduzem na proporção do excesso.
+     */
+    static int nextBatchLimit(int limit, int batchSize, long commitMillis, long targetCommitMillis, int maxBatchSize) {
+        if (commitMillis > targetCommitMillis) {
+            long scaled = limit * targetCommitMillis / Math.max(commitMillis, 1);
+            return (int) Math.max(1, Math.min(scaled, limit - 1));
+        }
+        if (batchSize >= limit && commitMillis * 2 <= targetCommitMillis) {
+            return Math.min(maxBatchSize, limit * 2);
+        }
+        return limit;
+    }
+
+    /**
+     * Uma inserção na fila e o resultado esperado por quem a pediu.
+     */
+    private static final class Pending {
+
+        private final PessoaDTO pessoaDTO;
+
+        private final CompletableFuture<PessoaDTO> result = new CompletableFuture<>();
+
+        Pending(PessoaDTO pessoaDTO) {
+            this.pessoaDTO = pessoaDTO;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package br.com.pessoa.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Classe de critérios para a entidade {@link br.com.pessoa.domain.Endereco}. Esta classe é usada
+ * em {@link br.com.pessoa.web.rest.EnderecoResource} para receber todas as opções de filtragem possíveis de
+ * os parâmetros de solicitação Http GET.
+ * Por exemplo, o seguinte poderia ser uma solicitação válida:
+ * {@code /enderecos?cidade.equals=Recife&enderecoPrincipal.equals=true&pessoaId.in=1,2}
+ * Como o Spring não consegue converter os tipos corretamente, a menos que uma classe {@link Filter} específica seja usada, precisamos usar
+ * corrigir filtros específicos do tipo.
+ */
+
+public class EnderecoCriteria implements Serializable, Criteria {
+
+	private static final long serialVersionUID = 1L;
+
+	private LongFilter id;
+
+	private StringFilter logradouro;
+
+	private StringFilter cep;
+
+	private StringFilter numero;
+
+	private StringFilter cidade;
+
+	private BooleanFilter enderecoPrincipal;
+
+	private LongFilter pessoaId;
+
+	private Boolean distinct;
+
+	public EnderecoCriteria() {}
+
+	public EnderecoCriteria(EnderecoCriteria other) {
+		this.id = other.id == null ? null : other.id.copy();
+		this.logradouro = other.logradouro == null ? null : other.logradouro.copy();
+		this.cep = other.cep == null ? null : other.cep.copy();
+		this.numero = other.numero == null ? null : other.numero.copy();
+		this.cidade = other.cidade == null ? null : other.cidade.copy();
+		this.enderecoPrincipal = other.enderecoPrincipal == null ? null : other.enderecoPrincipal.copy();
+		this.pessoaId = other.pessoaId == null ? null : other.pessoaId.copy();
+		this.distinct = other.distinct;
+	}
+
+	@Override
+	public EnderecoCriteria copy() {
+		return new EnderecoCriteria(this);
+	}
+
+	public LongFilter getId() {
+		return id;
+	}
+
+	public LongFilter id() {
+		if (id == null) {
+			id = new LongFilter();
+		}
+		return id;
+	}
+
+	public void setId(LongFilter id) {
+		this.id = id;
+	}
+
+	public StringFilter getLogradouro() {
+		return logradouro;
+	}
+
+	public StringFilter logradouro() {
+		if (logradouro == null) {
+			logradouro = new StringFilter();
+		}
+		return logradouro;
+	}
+
+	public void setLogradouro(StringFilter logradouro) {
+		this.logradouro = logradouro;
+	}
+
+	public StringFilter getCep() {
+		return cep;
+	}
+
+	public StringFilter cep() {
+		if (cep == null) {
+			cep = new StringFilter();
+		}
+		return cep;
+	}
+
+	public void setCep(StringFilter cep) {
+		this.cep = cep;
+	}
+
+	public StringFilter getNumero() {
+		return numero;
+	}
+
+	public StringFilter numero() {
+		if (numero == null) {
+			numero = new StringFilter();
+		}
+		return numero;
+	}
+
+	public void setNumero(StringFilter numero) {
+		this.numero = numero;
+	}
+
+	public StringFilter getCidade() {
+		return cidade;
+	}
+
+	public StringFilter cidade() {
+		if (cidade == null) {
+			cidade = new StringFilter();
+		}
+		return cidade;
+	}
+
+	public void setCidade(StringFilter cidade) {
+		this.cidade = cidade;
+	}
+
+	public BooleanFilter getEnderecoPrincipal() {
+		return enderecoPrincipal;
+	}
+
+	public BooleanFilter enderecoPrincipal() {
+		if (enderecoPrincipal == null) {
+			enderecoPrincipal = new BooleanFilter();
+		}
+		return enderecoPrincipal;
+	}
+
+	public void setEnderecoPrincipal(BooleanFilter enderecoPrincipal) {
+		this.enderecoPrincipal = enderecoPrincipal;
+	}
+
+	public LongFilter getPessoaId() {
+		return pessoaId;
+	}
+
+	public LongFilter pessoaId() {
+		if (pessoaId == null) {
+			pessoaId = new LongFilter();
+		}
+		return pessoaId;
+	}
+
+	public void setPessoaId(LongFilter pessoaId) {
+		this.pessoaId = pessoaId;
+	}
+
+	public Boolean getDistinct() {
+		return distinct;
+	}
+
+	public void setDistinct(Boolean distinct) {
+		this.distinct = distinct;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		final EnderecoCriteria that = (EnderecoCriteria) o;
+		return (
+				Objects.equals(id, that.id) &&
+				Objects.equals(logradouro, that.logradouro) &&
+				Objects.equals(cep, that.cep) &&
+				Objects.equals(numero, that.numero) &&
+				Objects.equals(cidade, that.cidade) &&
+				Objects.equals(enderecoPrincipal, that.enderecoPrincipal) &&
+				Objects.equals(pessoaId, that.pessoaId) &&
+				Objects.equals(distinct, that.distinct)
+				);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, logradouro, cep, numero, cidade, enderecoPrincipal, pessoaId, distinct);
+	}
+
+	@Override
+	public String toString() {
+		return "EnderecoCriteria{" +
+				(id != null ? "id=" + id + ", " : "") +
+				(logradouro != null ? "logradouro=" + logradouro + ", " : "") +
+				(cep != null ? "cep=" + cep + ", " : "") +
+				(numero != null ? "numero=" + numero + ", " : "") +
+				(cidade != null ? "cidade=" + cidade + ", " : "") +
+				(enderecoPrincipal != null ? "enderecoPrincipal=" + enderecoPrincipal + ", " : "") +
+				(pessoaId != null ? "pessoaId=" + pessoaId + ", " : "") +
+				(distinct != null ? "distinct=" + distinct + ", " : "") +
+				"}";
+	}
+}
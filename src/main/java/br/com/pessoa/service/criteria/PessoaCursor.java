@@ -0,0 +1,211 @@
+package br.com.pessoa.service.criteria;
+
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Cursor da paginação por keyset (seek) de {@link br.com.pessoa.domain.Pessoa}.
+ * <p>
+ * Guarda a chave de ordenação e o id do último registro entregue, de forma que a próxima página
+ * seja buscada com {@code (chave, id) > (último valor, último id)} em vez de {@code OFFSET}.
+ * O cursor trafega como um token opaco, codificado em Base64 URL-safe.
+ */
+public final class PessoaCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ID = "id";
+    public static final String NOME = "nome";
+    public static final String DATA_NASCIMENTO = "dataNascimento";
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of(ID, NOME, DATA_NASCIMENTO);
+
+    private static final String NULL_VALUE = "-";
+    private static final String PRESENT_VALUE = "=";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Long lastId;
+
+    private final Object lastValue;
+
+    private PessoaCursor(String property, Sort.Direction direction, Long lastId, Object lastValue) {
+        this.property = property;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cria o cursor da primeira página para a ordenação pedida.
+     *
+     * @param sort a ordenação da requisição; sem ordenação, usa {@code id} ascendente. Além da propriedade, só aceita o
+     * {@code id} como segundo critério, e na mesma direção, porque o cursor guarda uma única chave e o seek compara
+     * {@code (chave, id)} numa única direção.
+     * @return o cursor inicial.
+     * @throws IllegalArgumentException se a ordenação tiver outros critérios além do {@code id} na mesma direção, ou uma
+     * propriedade não suportada.
+     */
+    public static PessoaCursor first(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return new PessoaCursor(ID, Sort.Direction.ASC, null, null);
+        }
+        Sort.Order order = orders.next();
+        if (orders.hasNext()) {
+            Sort.Order tieBreaker = orders.next();
+            if (!ID.equals(tieBreaker.getProperty()) || tieBreaker.getDirection() != order.getDirection() || orders.hasNext()) {
+                throw new IllegalArgumentException("Keyset pagination supports a single sort property, optionally followed by id in the same direction");
+            }
+        }
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+        }
+        return new PessoaCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #encode()}.
+     *
+     * @param token o token opaco.
+     * @return o cursor correspondente.
+     * @throws IllegalArgumentException se o token for inválido.
+     */
+    public static PessoaCursor decode(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(",", 4);
+        if (parts.length != 4 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String property = parts[0];
+        Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+        Long lastId = Long.valueOf(parts[2]);
+        Object lastValue;
+        if (NULL_VALUE.equals(parts[3])) {
+            lastValue = null;
+        } else if (parts[3].startsWith(PRESENT_VALUE)) {
+            lastValue = parseValue(property, parts[3].substring(PRESENT_VALUE.length()));
+        } else {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new PessoaCursor(property, direction, lastId, lastValue);
+    }
+
+    /**
+     * Cria o cursor que continua a partir do último registro de uma página.
+     *
+     * @param last o último registro entregue.
+     * @return o cursor da página seguinte.
+     */
+    public PessoaCursor next(PessoaDTO last) {
+        return new PessoaCursor(property, direction, last.getId(), valueOf(last));
+    }
+
+    /**
+     * @return o token opaco que representa este cursor.
+     */
+    public String encode() {
+        String value = lastValue == null ? NULL_VALUE : PRESENT_VALUE + lastValue;
+        String raw = property + "," + direction.name() + "," + lastId + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a ordenação do cursor, com o {@code id} como critério de desempate.
+     */
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, property);
+        return ID.equals(property) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * @return {@code true} se o cursor aponta para a primeira página.
+     */
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    private Object valueOf(PessoaDTO pessoaDTO) {
+        switch (property) {
+            case NOME:
+                return pessoaDTO.getNome();
+            case DATA_NASCIMENTO:
+                return pessoaDTO.getDataNascimento();
+            default:
+                return pessoaDTO.getId();
+        }
+    }
+
+    private static Object parseValue(String property, String value) {
+        switch (property) {
+            case NOME:
+                return value;
+            case DATA_NASCIMENTO:
+                try {
+                    return LocalDate.parse(value);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid cursor", e);
+                }
+            default:
+                return Long.valueOf(value);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaCursor)) {
+            return false;
+        }
+        PessoaCursor that = (PessoaCursor) o;
+        return (
+            Objects.equals(property, that.property) &&
+            direction == that.direction &&
+            Objects.equals(lastId, that.lastId) &&
+            Objects.equals(lastValue, that.lastValue)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction, lastId, lastValue);
+    }
+
+    @Override
+    public String toString() {
+        return "PessoaCursor{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", lastId=" + lastId +
+            ", lastValue='" + lastValue + "'" +
+            "}";
+    }
+}
@@ -20,6 +20,8 @@ public class EnderecoDTO implements Serializable {
 
     private Boolean enderecoPrincipal;
 
+    private Long version;
+
     private PessoaDTO pessoa;
 
     public Long getId() {
@@ -78,6 +80,14 @@ public class EnderecoDTO implements Serializable {
         this.pessoa = pessoa;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -108,6 +118,7 @@ public class EnderecoDTO implements Serializable {
             ", numero='" + getNumero() + "'" +
             ", cidade='" + getCidade() + "'" +
             ", enderecoPrincipal='" + getEnderecoPrincipal() + "'" +
+            ", version=" + getVersion() +
             ", pessoa=" + getPessoa() +
             "}";
     }
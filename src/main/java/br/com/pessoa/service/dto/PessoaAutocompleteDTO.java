@@ -0,0 +1,62 @@
+package br.com.pessoa.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Sugestão do autocompletar de nomes de {@link br.com.pessoa.domain.Pessoa}.
+ */
+public class PessoaAutocompleteDTO implements Serializable {
+
+    private Long id;
+
+    private String nome;
+
+    public PessoaAutocompleteDTO() {}
+
+    public PessoaAutocompleteDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaAutocompleteDTO)) {
+            return false;
+        }
+        PessoaAutocompleteDTO that = (PessoaAutocompleteDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(nome, that.nome);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome);
+    }
+
+    @Override
+    public String toString() {
+        return "PessoaAutocompleteDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            "}";
+    }
+}
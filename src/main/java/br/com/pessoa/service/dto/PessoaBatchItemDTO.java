@@ -0,0 +1,91 @@
+package br.com.pessoa.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Resultado de um id da consulta em lote de {@link br.com.pessoa.domain.Pessoa}.
+ */
+public class PessoaBatchItemDTO implements Serializable {
+
+    /**
+     * Situação do id consultado.
+     */
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+    }
+
+    private Long id;
+
+    private Status status;
+
+    private PessoaDTO pessoa;
+
+    public PessoaBatchItemDTO() {}
+
+    public static PessoaBatchItemDTO found(PessoaDTO pessoa) {
+        PessoaBatchItemDTO item = new PessoaBatchItemDTO();
+        item.setId(pessoa.getId());
+        item.setStatus(Status.FOUND);
+        item.setPessoa(pessoa);
+        return item;
+    }
+
+    public static PessoaBatchItemDTO notFound(Long id) {
+        PessoaBatchItemDTO item = new PessoaBatchItemDTO();
+        item.setId(id);
+        item.setStatus(Status.NOT_FOUND);
+        return item;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public PessoaDTO getPessoa() {
+        return pessoa;
+    }
+
+    public void setPessoa(PessoaDTO pessoa) {
+        this.pessoa = pessoa;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaBatchItemDTO)) {
+            return false;
+        }
+        PessoaBatchItemDTO that = (PessoaBatchItemDTO) o;
+        return Objects.equals(id, that.id) && status == that.status && Objects.equals(pessoa, that.pessoa);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, pessoa);
+    }
+
+    @Override
+    public String toString() {
+        return "PessoaBatchItemDTO{" +
+            "id=" + getId() +
+            ", status=" + getStatus() +
+            ", pessoa=" + getPessoa() +
+            "}";
+    }
+}
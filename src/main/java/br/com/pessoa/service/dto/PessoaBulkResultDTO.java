@@ -0,0 +1,103 @@
+package br.com.pessoa.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Resultado de um item do cadastro em lote de {@link br.com.pessoa.domain.Pessoa}.
+ */
+public class PessoaBulkResultDTO implements Serializable {
+
+    /**
+     * Situação do item após o processamento do lote.
+     */
+    public enum Status {
+        CREATED,
+        REJECTED,
+    }
+
+    private int index;
+
+    private Status status;
+
+    private PessoaDTO pessoa;
+
+    private String errorKey;
+
+    public PessoaBulkResultDTO() {}
+
+    public static PessoaBulkResultDTO created(int index, PessoaDTO pessoa) {
+        PessoaBulkResultDTO result = new PessoaBulkResultDTO();
+        result.setIndex(index);
+        result.setStatus(Status.CREATED);
+        result.setPessoa(pessoa);
+        return result;
+    }
+
+    public static PessoaBulkResultDTO rejected(int index, String errorKey) {
+        PessoaBulkResultDTO result = new PessoaBulkResultDTO();
+        result.setIndex(index);
+        result.setStatus(Status.REJECTED);
+        result.setErrorKey(errorKey);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public PessoaDTO getPessoa() {
+        return pessoa;
+    }
+
+    public void setPessoa(PessoaDTO pessoa) {
+        this.pessoa = pessoa;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public void setErrorKey(String errorKey) {
+        this.errorKey = errorKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaBulkResultDTO)) {
+            return false;
+        }
+        PessoaBulkResultDTO that = (PessoaBulkResultDTO) o;
+        return index == that.index && status == that.status && Objects.equals(pessoa, that.pessoa) && Objects.equals(errorKey, that.errorKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, status, pessoa, errorKey);
+    }
+
+    @Override
+    public String toString() {
+        return "PessoaBulkResultDTO{" +
+            "index=" + getIndex() +
+            ", status=" + getStatus() +
+            ", pessoa=" + getPessoa() +
+            ", errorKey='" + getErrorKey() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.pessoa.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Um DTO para a entidade {@link br.com.pessoa.domain.Pessoa} com todos os seus {@link br.com.pessoa.domain.Endereco}.
+ */
+public class PessoaCompletoDTO extends PessoaDTO {
+
+    private List<EnderecoDTO> enderecos = new ArrayList<>();
+
+    public List<EnderecoDTO> getEnderecos() {
+        return enderecos;
+    }
+
+    public void setEnderecos(List<EnderecoDTO> enderecos) {
+        this.enderecos = enderecos;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaCompletoDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            ", dataNascimento='" + getDataNascimento() + "'" +
+            ", enderecos=" + getEnderecos() +
+            "}";
+    }
+}
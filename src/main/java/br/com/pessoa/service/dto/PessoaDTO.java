@@ -15,6 +15,8 @@ public class PessoaDTO implements Serializable {
 
     private LocalDate dataNascimento;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -39,6 +41,14 @@ public class PessoaDTO implements Serializable {
         this.dataNascimento = dataNascimento;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -67,6 +77,7 @@ public class PessoaDTO implements Serializable {
             "id=" + getId() +
             ", nome='" + getNome() + "'" +
             ", dataNascimento='" + getDataNascimento() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,99 @@
+package br.com.pessoa.service.dto.json;
+
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.ConfigOverride;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Registra os (de)serializadores escritos à mão de {@link PessoaDTO} e {@link EnderecoDTO}.
+ * <p>
+ * A associação é pela classe exata: subclasses como {@link br.com.pessoa.service.dto.PessoaCompletoDTO} têm campos a
+ * mais e continuam com o serializador de beans do Jackson.
+ * <p>
+ * Os serializadores escritos à mão cobrem as inclusões {@code ALWAYS} e {@code NON_NULL} ({@code NON_ABSENT}, para estes
+ * campos), vindas de {@code spring.jackson.default-property-inclusion}, de {@code @JsonInclude} na classe ou da sobrescrita
+ * de configuração da classe. Com outra inclusão, ou com uma sobrescrita de inclusão para o tipo de algum campo, os DTOs
+ * voltam para o serializador de beans, que implementa todas as regras.
+ */
+public class DtoJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final List<Class<?>> FIELD_TYPES = List.of(Long.class, String.class, Boolean.class, LocalDate.class, PessoaDTO.class);
+
+    private static final JsonDeserializer<PessoaDTO> PESSOA_DESERIALIZER = new PessoaDTOJson.Deserializer();
+    private static final JsonDeserializer<EnderecoDTO> ENDERECO_DESERIALIZER = new EnderecoDTOJson.Deserializer();
+
+    public DtoJsonModule() {
+        super(DtoJsonModule.class.getSimpleName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addSerializers(
+            new Serializers.Base() {
+                @Override
+                public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                    Class<?> raw = type.getRawClass();
+                    if (raw != PessoaDTO.class && raw != EnderecoDTO.class) {
+                        return null;
+                    }
+                    boolean suppressNulls;
+                    switch (beanDesc.findPropertyInclusion(config.getDefaultPropertyInclusion(raw)).getValueInclusion()) {
+                        case ALWAYS:
+                        case USE_DEFAULTS:
+                            suppressNulls = false;
+                            break;
+                        case NON_NULL:
+                        case NON_ABSENT:
+                            suppressNulls = true;
+                            break;
+                        default:
+                            return null;
+                    }
+                    if (hasFieldTypeInclusion(config)) {
+                        return null;
+                    }
+                    return raw == PessoaDTO.class ? new PessoaDTOJson.Serializer(suppressNulls) : new EnderecoDTOJson.Serializer(suppressNulls);
+                }
+            }
+        );
+        context.addDeserializers(
+            new Deserializers.Base() {
+                @Override
+                public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                    Class<?> raw = type.getRawClass();
+                    if (raw == PessoaDTO.class) {
+                        return PESSOA_DESERIALIZER;
+                    }
+                    if (raw == EnderecoDTO.class) {
+                        return ENDERECO_DESERIALIZER;
+                    }
+                    return null;
+                }
+            }
+        );
+    }
+
+    private static boolean hasFieldTypeInclusion(SerializationConfig config) {
+        for (Class<?> fieldType : FIELD_TYPES) {
+            ConfigOverride override = config.findConfigOverride(fieldType);
+            if (override != null && override.getInclude() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
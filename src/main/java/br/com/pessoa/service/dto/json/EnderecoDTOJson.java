@@ -0,0 +1,134 @@
+package br.com.pessoa.service.dto.json;
+
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * (De)serialização escrita à mão de {@link EnderecoDTO}. Segue as mesmas regras de saída do {@link PessoaDTOJson}; a
+ * pessoa aninhada sai pelo serializador que o Jackson escolher para {@link PessoaDTO}. Um campo novo no DTO precisa ser
+ * incluído aqui.
+ */
+public final class EnderecoDTOJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString LOGRADOURO = new SerializedString("logradouro");
+    private static final SerializedString CEP = new SerializedString("cep");
+    private static final SerializedString NUMERO = new SerializedString("numero");
+    private static final SerializedString CIDADE = new SerializedString("cidade");
+    private static final SerializedString ENDERECO_PRINCIPAL = new SerializedString("enderecoPrincipal");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString PESSOA = new SerializedString("pessoa");
+
+    private EnderecoDTOJson() {}
+
+    static EnderecoDTO read(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (EnderecoDTO) ctxt.handleUnexpectedToken(EnderecoDTO.class, p);
+        }
+        EnderecoDTO endereco = new EnderecoDTO();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id":
+                    endereco.setId(JsonFields.readLong(p, ctxt));
+                    break;
+                case "logradouro":
+                    endereco.setLogradouro(JsonFields.readString(p, ctxt));
+                    break;
+                case "cep":
+                    endereco.setCep(JsonFields.readString(p, ctxt));
+                    break;
+                case "numero":
+                    endereco.setNumero(JsonFields.readString(p, ctxt));
+                    break;
+                case "cidade":
+                    endereco.setCidade(JsonFields.readString(p, ctxt));
+                    break;
+                case "enderecoPrincipal":
+                    endereco.setEnderecoPrincipal(JsonFields.readBoolean(p, ctxt));
+                    break;
+                case "version":
+                    endereco.setVersion(JsonFields.readLong(p, ctxt));
+                    break;
+                case "pessoa":
+                    endereco.setPessoa(PessoaDTOJson.read(p, ctxt));
+                    break;
+                default:
+                    ctxt.handleUnknownProperty(p, null, endereco, field);
+            }
+        }
+        return endereco;
+    }
+
+    public static final class Serializer extends StdSerializer<EnderecoDTO> implements ResolvableSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean suppressNulls;
+
+        private JsonSerializer<Object> pessoaSerializer;
+
+        /**
+         * @param suppressNulls se os campos nulos são omitidos ({@code NON_NULL}) em vez de escritos como {@code null}.
+         */
+        public Serializer(boolean suppressNulls) {
+            super(EnderecoDTO.class);
+            this.suppressNulls = suppressNulls;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            pessoaSerializer = provider.findValueSerializer(PessoaDTO.class);
+        }
+
+        @Override
+        public void serialize(EnderecoDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            JsonFields.writeLong(gen, ID, value.getId(), suppressNulls);
+            JsonFields.writeString(gen, LOGRADOURO, value.getLogradouro(), suppressNulls);
+            JsonFields.writeString(gen, CEP, value.getCep(), suppressNulls);
+            JsonFields.writeString(gen, NUMERO, value.getNumero(), suppressNulls);
+            JsonFields.writeString(gen, CIDADE, value.getCidade(), suppressNulls);
+            JsonFields.writeBoolean(gen, ENDERECO_PRINCIPAL, value.getEnderecoPrincipal(), suppressNulls);
+            JsonFields.writeLong(gen, VERSION, value.getVersion(), suppressNulls);
+            if (value.getPessoa() == null) {
+                JsonFields.writeNull(gen, PESSOA, suppressNulls);
+            } else {
+                gen.writeFieldName(PESSOA);
+                pessoaSerializer.serialize(value.getPessoa(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<EnderecoDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(EnderecoDTO.class);
+        }
+
+        @Override
+        public EnderecoDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p, ctxt);
+        }
+    }
+}
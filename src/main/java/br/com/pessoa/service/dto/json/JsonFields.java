@@ -0,0 +1,135 @@
+package br.com.pessoa.service.dto.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Leitura e escrita dos tipos de campo dos DTOs. O caminho comum é tratado direto no token; o resto (coerções, formatos
+ * alternativos, erros) é delegado aos deserializadores padrão do Jackson, para manter o mesmo comportamento.
+ */
+final class JsonFields {
+
+    private static final int ISO_LOCAL_DATE_LENGTH = 10;
+
+    private JsonFields() {}
+
+    static void writeLong(JsonGenerator gen, SerializableString name, Long value, boolean suppressNulls) throws IOException {
+        if (value == null) {
+            writeNull(gen, name, suppressNulls);
+        } else {
+            gen.writeFieldName(name);
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value, boolean suppressNulls) throws IOException {
+        if (value == null) {
+            writeNull(gen, name, suppressNulls);
+        } else {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    static void writeBoolean(JsonGenerator gen, SerializableString name, Boolean value, boolean suppressNulls) throws IOException {
+        if (value == null) {
+            writeNull(gen, name, suppressNulls);
+        } else {
+            gen.writeFieldName(name);
+            gen.writeBoolean(value);
+        }
+    }
+
+    /**
+     * Com {@code WRITE_DATES_AS_TIMESTAMPS} desligado, a mesma saída do {@code LocalDateSerializer}: {@code ISO_LOCAL_DATE}.
+     * Ligado, a data passa pelo próprio {@code LocalDateSerializer}.
+     */
+    static void writeLocalDate(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDate value, boolean suppressNulls)
+        throws IOException {
+        if (value == null) {
+            writeNull(gen, name, suppressNulls);
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            gen.writeFieldName(name);
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeFieldName(name);
+            gen.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Um campo nulo: escrito como {@code null}, ou omitido com {@code NON_NULL}.
+     */
+    static void writeNull(JsonGenerator gen, SerializableString name, boolean suppressNulls) throws IOException {
+        if (!suppressNulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT:
+                return p.getLongValue();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return ctxt.readValue(p, Long.class);
+        }
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_STRING:
+                return p.getText();
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return ctxt.readValue(p, String.class);
+        }
+    }
+
+    static Boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_TRUE:
+                return Boolean.TRUE;
+            case JsonTokenId.ID_FALSE:
+                return Boolean.FALSE;
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return ctxt.readValue(p, Boolean.class);
+        }
+    }
+
+    /**
+     * O caminho comum ({@code yyyy-MM-dd}) é lido direto; qualquer outra forma passa pelo {@code LocalDateDeserializer},
+     * que aceita as variações de formato do JavaTimeModule. Ele não é cacheável, então a consulta por data custaria caro.
+     */
+    static LocalDate readLocalDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.currentTokenId()) {
+            case JsonTokenId.ID_STRING:
+                String text = p.getText();
+                if (text.length() == ISO_LOCAL_DATE_LENGTH) {
+                    try {
+                        return LocalDate.parse(text);
+                    } catch (DateTimeParseException e) {
+                        // o LocalDateDeserializer decide o erro
+                    }
+                }
+                return ctxt.readValue(p, LocalDate.class);
+            case JsonTokenId.ID_NULL:
+                return null;
+            default:
+                return ctxt.readValue(p, LocalDate.class);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.pessoa.service.dto.json;
+
+import br.com.pessoa.service.dto.PessoaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * (De)serialização escrita à mão de {@link PessoaDTO}, sem introspecção nem reflexão por campo.
+ * <p>
+ * Produz exatamente a saída do serializador de beans: campos na ordem de declaração, nulos escritos ou omitidos conforme a
+ * inclusão configurada ({@link DtoJsonModule} só o usa com {@code ALWAYS} ou {@code NON_NULL}) e {@code dataNascimento}
+ * conforme {@code WRITE_DATES_AS_TIMESTAMPS}. Um campo novo no DTO precisa ser incluído aqui.
+ */
+public final class PessoaDTOJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NOME = new SerializedString("nome");
+    private static final SerializedString DATA_NASCIMENTO = new SerializedString("dataNascimento");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    private PessoaDTOJson() {}
+
+    static void write(PessoaDTO value, JsonGenerator gen, SerializerProvider provider, boolean suppressNulls) throws IOException {
+        gen.writeStartObject(value);
+        JsonFields.writeLong(gen, ID, value.getId(), suppressNulls);
+        JsonFields.writeString(gen, NOME, value.getNome(), suppressNulls);
+        JsonFields.writeLocalDate(gen, provider, DATA_NASCIMENTO, value.getDataNascimento(), suppressNulls);
+        JsonFields.writeLong(gen, VERSION, value.getVersion(), suppressNulls);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Lê uma pessoa a partir do token atual ({@code null}, início do objeto ou primeiro campo).
+     */
+    static PessoaDTO read(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (PessoaDTO) ctxt.handleUnexpectedToken(PessoaDTO.class, p);
+        }
+        PessoaDTO pessoa = new PessoaDTO();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id":
+                    pessoa.setId(JsonFields.readLong(p, ctxt));
+                    break;
+                case "nome":
+                    pessoa.setNome(JsonFields.readString(p, ctxt));
+                    break;
+                case "dataNascimento":
+                    pessoa.setDataNascimento(JsonFields.readLocalDate(p, ctxt));
+                    break;
+                case "version":
+                    pessoa.setVersion(JsonFields.readLong(p, ctxt));
+                    break;
+                default:
+                    ctxt.handleUnknownProperty(p, null, pessoa, field);
+            }
+        }
+        return pessoa;
+    }
+
+    public static final class Serializer extends StdSerializer<PessoaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean suppressNulls;
+
+        /**
+         * @param suppressNulls se os campos nulos são omitidos ({@code NON_NULL}) em vez de escritos como {@code null}.
+         */
+        public Serializer(boolean suppressNulls) {
+            super(PessoaDTO.class);
+            this.suppressNulls = suppressNulls;
+        }
+
+        @Override
+        public void serialize(PessoaDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen, provider, suppressNulls);
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<PessoaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(PessoaDTO.class);
+        }
+
+        @Override
+        public PessoaDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p, ctxt);
+        }
+    }
+}
@@ -2,14 +2,18 @@ package br.com.pessoa.service.impl;
 
 import br.com.pessoa.domain.Endereco;
 import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.repository.PessoaRepository;
 import br.com.pessoa.service.EnderecoService;
+import br.com.pessoa.service.PessoaQueryService;
 import br.com.pessoa.service.dto.EnderecoDTO;
 import br.com.pessoa.service.mapper.EnderecoMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,41 +28,73 @@ public class EnderecoServiceImpl implements EnderecoService {
 
     private final EnderecoRepository enderecoRepository;
 
+    private final PessoaRepository pessoaRepository;
+
     private final EnderecoMapper enderecoMapper;
 
-    public EnderecoServiceImpl(EnderecoRepository enderecoRepository, EnderecoMapper enderecoMapper) {
+    public EnderecoServiceImpl(EnderecoRepository enderecoRepository, PessoaRepository pessoaRepository, EnderecoMapper enderecoMapper) {
         this.enderecoRepository = enderecoRepository;
+        this.pessoaRepository = pessoaRepository;
         this.enderecoMapper = enderecoMapper;
     }
 
     @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public EnderecoDTO save(EnderecoDTO enderecoDTO) {
         log.debug("Request to save Endereco : {}", enderecoDTO);
         Endereco endereco = enderecoMapper.toEntity(enderecoDTO);
+        if (endereco.getPessoa() != null) {
+            // A pessoa do DTO só tem o id e, sem versão, seria tratada como nova pelo Hibernate
+            endereco.setPessoa(pessoaRepository.getReferenceById(endereco.getPessoa().getId()));
+        }
         endereco = enderecoRepository.save(endereco);
         return enderecoMapper.toDto(endereco);
     }
 
     @Override
-    public EnderecoDTO update(EnderecoDTO enderecoDTO) {
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
+    public Optional<EnderecoDTO> update(EnderecoDTO enderecoDTO) {
         log.debug("Request to update Endereco : {}", enderecoDTO);
-        Endereco endereco = enderecoMapper.toEntity(enderecoDTO);
-        endereco = enderecoRepository.save(endereco);
-        return enderecoMapper.toDto(endereco);
+
+        // Pela entidade gerenciada, e não por um UPDATE em massa: o Hibernate troca só a entrada dela no cache L2, em vez de
+        // esvaziar a região inteira, e a leitura costuma sair do próprio cache
+        return enderecoRepository
+            .findById(enderecoDTO.getId())
+            .map(existingEndereco -> {
+                if (enderecoDTO.getVersion() != null && !enderecoDTO.getVersion().equals(existingEndereco.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Endereco.class, existingEndereco.getId());
+                }
+                enderecoMapper.update(existingEndereco, enderecoDTO);
+                // Referência sem SELECT: o UPDATE só precisa do id da pessoa
+                existingEndereco.setPessoa(
+                    enderecoDTO.getPessoa() != null ? pessoaRepository.getReferenceById(enderecoDTO.getPessoa().getId()) : null
+                );
+
+                return existingEndereco;
+            })
+            // Antecipa o flush para que a versão devolvida já seja a incrementada
+            .map(enderecoRepository::saveAndFlush)
+            .map(enderecoMapper::toDto);
     }
 
     @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public Optional<EnderecoDTO> partialUpdate(EnderecoDTO enderecoDTO) {
         log.debug("Request to partially update Endereco : {}", enderecoDTO);
 
         return enderecoRepository
             .findById(enderecoDTO.getId())
             .map(existingEndereco -> {
+                if (enderecoDTO.getVersion() != null && !enderecoDTO.getVersion().equals(existingEndereco.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Endereco.class, existingEndereco.getId());
+                }
+                // A entidade já está gerenciada: o UPDATE sai pelo dirty checking, na mesma transação do SELECT
                 enderecoMapper.partialUpdate(existingEndereco, enderecoDTO);
 
                 return existingEndereco;
             })
-            .map(enderecoRepository::save)
+            // Antecipa o flush para que a versão devolvida já seja a incrementada
+            .map(enderecoRepository::saveAndFlush)
             .map(enderecoMapper::toDto);
     }
 
@@ -69,6 +105,13 @@ public class EnderecoServiceImpl implements EnderecoService {
         return enderecoRepository.findAll(pageable).map(enderecoMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EnderecoDTO> findAllByPessoaId(Long pessoaId, Pageable pageable) {
+        log.debug("Request to get Enderecos of Pessoa : {}", pessoaId);
+        return enderecoRepository.findAllByPessoaId(pessoaId, pageable).map(enderecoMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<EnderecoDTO> findOne(Long id) {
@@ -77,6 +120,14 @@ public class EnderecoServiceImpl implements EnderecoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get version of Endereco : {}", id);
+        return enderecoRepository.findById(id).map(Endereco::getVersion);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public void delete(Long id) {
         log.debug("Request to delete Endereco : {}", id);
         enderecoRepository.deleteById(id);
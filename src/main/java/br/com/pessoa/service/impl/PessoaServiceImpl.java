@@ -1,16 +1,38 @@
 package br.com.pessoa.service.impl;
 
+import br.com.pessoa.config.ApplicationProperties;
 import br.com.pessoa.domain.Pessoa;
 import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.PessoaQueryService;
 import br.com.pessoa.service.PessoaService;
+import br.com.pessoa.service.PessoaWriteBehindService;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaBatchItemDTO;
+import br.com.pessoa.service.dto.PessoaBulkResultDTO;
+import br.com.pessoa.service.dto.PessoaCompletoDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
 import br.com.pessoa.service.mapper.PessoaMapper;
+import br.com.pessoa.service.search.PessoaNomeChangedEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -26,39 +48,131 @@ public class PessoaServiceImpl implements PessoaService {
 
     private final PessoaMapper pessoaMapper;
 
-    public PessoaServiceImpl(PessoaRepository pessoaRepository, PessoaMapper pessoaMapper) {
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PessoaWriteBehindService pessoaWriteBehindService;
+
+    public PessoaServiceImpl(
+        PessoaRepository pessoaRepository,
+        PessoaMapper pessoaMapper,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties,
+        ApplicationEventPublisher eventPublisher,
+        PessoaWriteBehindService pessoaWriteBehindService
+    ) {
         this.pessoaRepository = pessoaRepository;
         this.pessoaMapper = pessoaMapper;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+        this.eventPublisher = eventPublisher;
+        this.pessoaWriteBehindService = pessoaWriteBehindService;
     }
 
+    /**
+     * Sem transação própria: no modo write-behind a espera pelo lote não pode segurar uma conexão do pool. Fora dele, o
+     * {@code save} do repositório abre a transação, como antes.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public PessoaDTO save(PessoaDTO pessoaDTO) {
         log.debug("Request to save Pessoa : {}", pessoaDTO);
+        if (pessoaWriteBehindService.isEnabled()) {
+            return pessoaWriteBehindService.save(pessoaDTO);
+        }
         Pessoa pessoa = pessoaMapper.toEntity(pessoaDTO);
         pessoa = pessoaRepository.save(pessoa);
+        eventPublisher.publishEvent(PessoaNomeChangedEvent.saved(pessoa.getId(), pessoa.getNome()));
         return pessoaMapper.toDto(pessoa);
     }
 
     @Override
-    public PessoaDTO update(PessoaDTO pessoaDTO) {
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
+    public List<PessoaBulkResultDTO> saveAll(List<PessoaDTO> pessoaDTOs) {
+        log.debug("Request to bulk save {} Pessoas", pessoaDTOs.size());
+        int chunkSize = applicationProperties.getBulk().getChunkSize();
+        List<PessoaBulkResultDTO> results = new ArrayList<>(pessoaDTOs.size());
+        int pending = 0;
+        for (int index = 0; index < pessoaDTOs.size(); index++) {
+            PessoaDTO pessoaDTO = pessoaDTOs.get(index);
+            if (pessoaDTO == null) {
+                results.add(PessoaBulkResultDTO.rejected(index, "itemnull"));
+                continue;
+            }
+            if (pessoaDTO.getId() != null) {
+                results.add(PessoaBulkResultDTO.rejected(index, "idexists"));
+                continue;
+            }
+            // O id vem do pool reservado pelo otimizador "pooled", então o persist não consulta a sequence
+            Pessoa pessoa = pessoaRepository.save(pessoaMapper.toEntity(pessoaDTO));
+            eventPublisher.publishEvent(PessoaNomeChangedEvent.saved(pessoa.getId(), pessoa.getNome()));
+            results.add(PessoaBulkResultDTO.created(index, pessoaMapper.toDto(pessoa)));
+            if (++pending == chunkSize) {
+                // Envia o lote de inserts e libera o contexto de persistência para manter a memória estável
+                pessoaRepository.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            pessoaRepository.flush();
+            entityManager.clear();
+        }
+        return results;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
+    public Optional<PessoaDTO> update(PessoaDTO pessoaDTO) {
         log.debug("Request to update Pessoa : {}", pessoaDTO);
-        Pessoa pessoa = pessoaMapper.toEntity(pessoaDTO);
-        pessoa = pessoaRepository.save(pessoa);
-        return pessoaMapper.toDto(pessoa);
+
+        // Pela entidade gerenciada, e não por um UPDATE em massa: o Hibernate troca só a entrada dela no cache L2, em vez de
+        // esvaziar a região inteira, e a leitura costuma sair do próprio cache
+        return pessoaRepository
+            .findById(pessoaDTO.getId())
+            .map(existingPessoa -> {
+                if (pessoaDTO.getVersion() != null && !pessoaDTO.getVersion().equals(existingPessoa.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Pessoa.class, existingPessoa.getId());
+                }
+                pessoaMapper.update(existingPessoa, pessoaDTO);
+
+                return existingPessoa;
+            })
+            // Antecipa o flush para que a versão devolvida já seja a incrementada
+            .map(pessoaRepository::saveAndFlush)
+            .map(pessoa -> {
+                eventPublisher.publishEvent(PessoaNomeChangedEvent.saved(pessoa.getId(), pessoa.getNome()));
+                return pessoa;
+            })
+            .map(pessoaMapper::toDto);
     }
 
     @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public Optional<PessoaDTO> partialUpdate(PessoaDTO pessoaDTO) {
         log.debug("Request to partially update Pessoa : {}", pessoaDTO);
 
         return pessoaRepository
             .findById(pessoaDTO.getId())
             .map(existingPessoa -> {
+                if (pessoaDTO.getVersion() != null && !pessoaDTO.getVersion().equals(existingPessoa.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Pessoa.class, existingPessoa.getId());
+                }
+                // A entidade já está gerenciada: o UPDATE sai pelo dirty checking, na mesma transação do SELECT
                 pessoaMapper.partialUpdate(existingPessoa, pessoaDTO);
 
                 return existingPessoa;
             })
-            .map(pessoaRepository::save)
+            // Antecipa o flush para que a versão devolvida já seja a incrementada
+            .map(pessoaRepository::saveAndFlush)
+            .map(pessoa -> {
+                eventPublisher.publishEvent(PessoaNomeChangedEvent.saved(pessoa.getId(), pessoa.getNome()));
+                return pessoa;
+            })
             .map(pessoaMapper::toDto);
     }
 
@@ -77,8 +191,46 @@ public class PessoaServiceImpl implements PessoaService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get version of Pessoa : {}", id);
+        return pessoaRepository.findById(id).map(Pessoa::getVersion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PessoaCompletoDTO> findOneCompleto(Long id) {
+        log.debug("Request to get Pessoa with Enderecos : {}", id);
+        return pessoaRepository
+            .findOneWithEnderecosById(id)
+            .map(pessoaMapper::toCompletoDto)
+            .map(pessoaCompletoDTO -> {
+                pessoaCompletoDTO.getEnderecos().sort(Comparator.comparing(EnderecoDTO::getId));
+                return pessoaCompletoDTO;
+            });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PessoaBatchItemDTO> findAllById(List<Long> ids) {
+        log.debug("Request to get Pessoas : {}", ids);
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, PessoaDTO> found = pessoaRepository
+            .findAllById(distinctIds)
+            .stream()
+            .map(pessoaMapper::toDto)
+            .collect(Collectors.toMap(PessoaDTO::getId, Function.identity()));
+        return ids
+            .stream()
+            .map(id -> found.containsKey(id) ? PessoaBatchItemDTO.found(found.get(id)) : PessoaBatchItemDTO.notFound(id))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE, allEntries = true)
     public void delete(Long id) {
         log.debug("Request to delete Pessoa : {}", id);
         pessoaRepository.deleteById(id);
+        eventPublisher.publishEvent(PessoaNomeChangedEvent.removed(id));
     }
 }
@@ -14,6 +14,21 @@ public interface EnderecoMapper extends EntityMapper<EnderecoDTO, Endereco> {
     @Mapping(target = "pessoa", source = "pessoa", qualifiedByName = "pessoaId")
     EnderecoDTO toDto(Endereco s);
 
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Endereco entity, EnderecoDTO dto);
+
+    /**
+     * Copia todos os campos do DTO para o endereco, inclusive os nulos, como pede a substituição do PUT. A pessoa fica
+     * com quem chama, que só tem o id dela; a versão fica com a entidade, que a incrementa no flush.
+     */
+    @Named("update")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "pessoa", ignore = true)
+    void update(@MappingTarget Endereco entity, EnderecoDTO dto);
+
     @Named("pessoaId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -1,11 +1,29 @@
 package br.com.pessoa.service.mapper;
 
 import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.service.dto.PessoaCompletoDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
 import org.mapstruct.*;
 
 /**
  * Mapper para a entidade {@link Pessoa} e seu DTO {@link PessoaDTO}.
  */
-@Mapper(componentModel = "spring")
-public interface PessoaMapper extends EntityMapper<PessoaDTO, Pessoa> {}
+@Mapper(componentModel = "spring", uses = EnderecoMapper.class)
+public interface PessoaMapper extends EntityMapper<PessoaDTO, Pessoa> {
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Pessoa entity, PessoaDTO dto);
+
+    /**
+     * Copia todos os campos do DTO para a pessoa, inclusive os nulos, como pede a substituição do PUT. A versão fica com a
+     * entidade, que a incrementa no flush.
+     */
+    @Named("update")
+    @Mapping(target = "version", ignore = true)
+    void update(@MappingTarget Pessoa entity, PessoaDTO dto);
+
+    @Named("completo")
+    PessoaCompletoDTO toCompletoDto(Pessoa pessoa);
+}
@@ -0,0 +1,170 @@
+package br.com.pessoa.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice de prefixos sobre {@link br.com.pessoa.domain.Pessoa#getNome()}, em memória, para o autocompletar.
+ * <p>
+ * Os nomes são normalizados (sem acentos, em maiúsculas, com espaços simples) e guardados em um mapa ordenado
+ * com a chave {@code nome normalizado + '\0' + id}. Todos os nomes com um prefixo ocupam um intervalo contíguo
+ * do mapa, então uma consulta é uma busca logarítmica seguida da leitura das primeiras entradas do intervalo,
+ * sem depender da quantidade de nomes que casam. As leituras não usam lock; as escritas são serializadas.
+ */
+@Component
+public class NomeAutocompleteIndex implements PessoaNomeIndex {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final Object writeLock = new Object();
+
+    private volatile ConcurrentNavigableMap<String, Suggestion> suggestions = new ConcurrentSkipListMap<>();
+
+    private volatile Map<Long, String> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Alterações recebidas durante uma reconstrução, reaplicadas sobre o novo conteúdo ao final.
+     */
+    private List<Suggestion> journal;
+
+    private volatile boolean ready;
+
+    @Override
+    public void put(Long id, String nome) {
+        apply(new Suggestion(id, nome));
+    }
+
+    @Override
+    public void remove(Long id) {
+        apply(new Suggestion(id, null));
+    }
+
+    @Override
+    public void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        synchronized (writeLock) {
+            journal = new ArrayList<>();
+        }
+        ConcurrentNavigableMap<String, Suggestion> newSuggestions = new ConcurrentSkipListMap<>();
+        Map<Long, String> newKeys = new ConcurrentHashMap<>();
+        try {
+            source.accept((id, nome) -> index(newSuggestions, newKeys, new Suggestion(id, nome)));
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                journal = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            journal.forEach(change -> index(newSuggestions, newKeys, change));
+            journal = null;
+            suggestions = newSuggestions;
+            keys = newKeys;
+            ready = true;
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Busca os nomes que começam com {@code prefix}, sem diferenciar maiúsculas, minúsculas e acentos.
+     *
+     * @param prefix o início do nome digitado.
+     * @param limit a quantidade máxima de sugestões.
+     * @return as sugestões em ordem alfabética, ou vazio se o índice ainda não foi montado.
+     */
+    public Optional<List<Suggestion>> search(String prefix, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String normalized = normalize(prefix);
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, 64));
+        if (normalized.isEmpty()) {
+            return Optional.of(result);
+        }
+        for (Suggestion suggestion : suggestions.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(suggestion);
+        }
+        return Optional.of(result);
+    }
+
+    private void apply(Suggestion change) {
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            index(suggestions, keys, change);
+        }
+    }
+
+    private static void index(ConcurrentNavigableMap<String, Suggestion> suggestions, Map<Long, String> keys, Suggestion change) {
+        String previous = keys.remove(change.getId());
+        if (previous != null) {
+            suggestions.remove(previous);
+        }
+        if (change.getNome() != null) {
+            String key = normalize(change.getNome()) + SEPARATOR + change.getId();
+            suggestions.put(key, change);
+            keys.put(change.getId(), key);
+        }
+    }
+
+    /**
+     * Normaliza um nome ou prefixo como as chaves do índice: sem acentos, em maiúsculas e com espaços simples.
+     *
+     * @param value o nome ou prefixo.
+     * @return o valor normalizado.
+     */
+    public static String normalize(String value) {
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutMarks.trim()).replaceAll(" ").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Um nome indexado, com a grafia original.
+     */
+    public static final class Suggestion {
+
+        private final Long id;
+
+        private final String nome;
+
+        private Suggestion(Long id, String nome) {
+            this.id = id;
+            this.nome = nome;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package br.com.pessoa.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice invertido de trigramas sobre {@link br.com.pessoa.domain.Pessoa#getNome()}, em memória.
+ * <p>
+ * Cada nome, em maiúsculas, é quebrado em trigramas (três caracteres consecutivos) empacotados em um {@code long};
+ * cada trigrama aponta para a lista ordenada dos ids que o contêm. Uma busca por substring intersecta as listas dos
+ * trigramas da consulta, começando pela menor, e confirma cada candidato contra o nome guardado, de forma que o
+ * resultado é exato e o custo depende do tamanho das listas, não da quantidade de pessoas.
+ * <p>
+ * O índice só responde depois de montado por {@link #rebuild(Consumer)}; até lá, e para consultas com menos de
+ * três caracteres ou com curingas do {@code like}, {@link #search(String, int)} devolve vazio e a consulta vai ao banco.
+ * <p>
+ * O índice só enxerga as gravações que passam pelo {@link PessoaNomeIndexer}. Antes de usar os candidatos, quem
+ * consulta confere com {@link #covers(long, long)} se ele ainda tem exatamente as pessoas do banco; a conferência pode
+ * ser guardada enquanto a {@link #getGeneration() geração} não mudar.
+ */
+@Component
+public class NomeTrigramIndex implements PessoaNomeIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, String> nomes = new HashMap<>();
+
+    private Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Pessoas sem nome: não aparecem nas buscas, mas contam para {@link #covers(long, long)}.
+     */
+    private Set<Long> withoutNome = new HashSet<>();
+
+    private long maxId;
+
+    /**
+     * Alterações recebidas durante uma reconstrução, reaplicadas sobre o novo conteúdo ao final.
+     */
+    private List<Change> journal;
+
+    private volatile boolean ready;
+
+    private volatile long generation;
+
+    @Override
+    public void put(Long id, String nome) {
+        apply(new Change(id, nome, false));
+    }
+
+    @Override
+    public void remove(Long id) {
+        apply(new Change(id, null, true));
+    }
+
+    @Override
+    public void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, String> newNomes = new HashMap<>();
+        Map<Long, Postings> newPostings = new HashMap<>();
+        Set<Long> newWithoutNome = new HashSet<>();
+        try {
+            source.accept((id, nome) -> index(newNomes, newPostings, newWithoutNome, new Change(id, nome, false)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        newPostings.values().forEach(Postings::trim);
+        lock.writeLock().lock();
+        try {
+            nomes = newNomes;
+            postings = newPostings;
+            withoutNome = newWithoutNome;
+            journal.forEach(change -> index(nomes, postings, withoutNome, change));
+            journal = null;
+            maxId = computeMaxId();
+            ready = true;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nomes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantas reconstruções terminaram. Entre duas reconstruções o índice só muda pelo {@link PessoaNomeIndexer}, junto
+     * com o banco; uma reconstrução pode mudar o resultado de {@link #covers(long, long)} de uma vez.
+     *
+     * @return a geração atual do índice.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Confere se o índice tem exatamente as pessoas do banco, pela quantidade e pelo maior id. Uma inclusão ou remoção
+     * feita por fora do {@link PessoaNomeIndexer} (carga por JDBC, outra instância, escrita direta pelo repositório)
+     * muda um dos dois; nesse caso os candidatos de {@link #search(String, int)} podem deixar pessoas de fora.
+     *
+     * @param count a quantidade de pessoas no banco.
+     * @param maxId o maior id de pessoa no banco, ou {@code 0} se não houver nenhuma.
+     * @return {@code true} se o índice foi montado e cobre as mesmas pessoas.
+     */
+    public boolean covers(long count, long maxId) {
+        if (!ready) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return nomes.size() + withoutNome.size() == count && this.maxId == maxId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve os ids das pessoas cujo nome contém {@code query}, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param query o trecho procurado.
+     * @param maxResults a quantidade máxima de ids que vale a pena devolver.
+     * @return os ids em ordem crescente, ou vazio se o índice não puder responder ou houver mais de {@code maxResults} ids.
+     */
+    public Optional<long[]> search(String query, int maxResults) {
+        if (!ready || query == null || query.length() < GRAM || query.indexOf('%') >= 0 || query.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        String normalized = normalize(query);
+        long[] grams = Arrays.stream(trigrams(normalized)).distinct().toArray();
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(new long[0]);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainAll(candidates, count);
+            }
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                // Os trigramas podem coincidir fora de ordem; o nome guardado confirma a substring
+                if (nomes.get(candidates[i]).contains(normalized)) {
+                    if (matches == maxResults) {
+                        return Optional.empty();
+                    }
+                    candidates[matches++] = candidates[i];
+                }
+            }
+            return Optional.of(Arrays.copyOf(candidates, matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(change);
+            }
+            index(nomes, postings, withoutNome, change);
+            if (!change.removed) {
+                maxId = Math.max(maxId, change.id);
+            } else if (change.id == maxId) {
+                maxId = computeMaxId();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long computeMaxId() {
+        long max = 0;
+        for (Long id : nomes.keySet()) {
+            max = Math.max(max, id);
+        }
+        for (Long id : withoutNome) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+
+    private static void index(Map<Long, String> nomes, Map<Long, Postings> postings, Set<Long> withoutNome, Change change) {
+        Long id = change.id;
+        String nome = normalize(change.nome);
+        if (nome == null && !change.removed) {
+            withoutNome.add(id);
+        } else {
+            withoutNome.remove(id);
+        }
+        String previous = nome == null ? nomes.remove(id) : nomes.put(id, nome);
+        if (previous != null) {
+            for (long gram : trigrams(previous)) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        if (nome != null) {
+            for (long gram : trigrams(nome)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        }
+    }
+
+    private static String normalize(String nome) {
+        return nome == null ? null : nome.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Empacota cada sequência de três caracteres em um {@code long} de 48 bits.
+     */
+    static long[] trigrams(String value) {
+        if (value.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[value.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /**
+     * Lista ordenada e sem repetição de ids, em um {@code long[]} que cresce sob demanda.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        void add(long id) {
+            // Ids novos vêm da sequence, então o caso comum é acrescentar ao final
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Mantém em {@code candidates} apenas os ids presentes nesta lista.
+         *
+         * @return a nova quantidade de candidatos.
+         */
+        int retainAll(long[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int position = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (position >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            return kept;
+        }
+
+        void trim() {
+            ids = Arrays.copyOf(ids, size);
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+
+    private static final class Change {
+
+        private final Long id;
+
+        private final String nome;
+
+        private final boolean removed;
+
+        private Change(Long id, String nome, boolean removed) {
+            this.id = id;
+            this.nome = nome;
+            this.removed = removed;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.pessoa.service.search;
+
+import java.util.Objects;
+
+/**
+ * Evento publicado por {@link br.com.pessoa.service.PessoaService} quando o nome de uma pessoa passa a existir,
+ * muda ou deixa de existir, para manter os índices de nome em memória atualizados.
+ */
+public final class PessoaNomeChangedEvent {
+
+    private final Long id;
+
+    private final String nome;
+
+    private final boolean removed;
+
+    private PessoaNomeChangedEvent(Long id, String nome, boolean removed) {
+        this.id = id;
+        this.nome = nome;
+        this.removed = removed;
+    }
+
+    public static PessoaNomeChangedEvent saved(Long id, String nome) {
+        return new PessoaNomeChangedEvent(id, nome, false);
+    }
+
+    public static PessoaNomeChangedEvent removed(Long id) {
+        return new PessoaNomeChangedEvent(id, null, true);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaNomeChangedEvent)) {
+            return false;
+        }
+        PessoaNomeChangedEvent that = (PessoaNomeChangedEvent) o;
+        return removed == that.removed && Objects.equals(id, that.id) && Objects.equals(nome, that.nome);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome, removed);
+    }
+
+    @Override
+    public String toString() {
+        return "PessoaNomeChangedEvent{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            ", removed=" + isRemoved() +
+            "}";
+    }
+}
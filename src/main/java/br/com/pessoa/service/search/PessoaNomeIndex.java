@@ -0,0 +1,42 @@
+package br.com.pessoa.service.search;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Índice em memória sobre {@link br.com.pessoa.domain.Pessoa#getNome()}, alimentado pelo {@link PessoaNomeIndexer}.
+ */
+public interface PessoaNomeIndex {
+    /**
+     * Indexa ou reindexa o nome de uma pessoa.
+     *
+     * @param id o id da pessoa.
+     * @param nome o nome atual; {@code null} se a pessoa não tiver nome, e então ela não é encontrada pelo nome.
+     */
+    void put(Long id, String nome);
+
+    /**
+     * Remove uma pessoa do índice.
+     *
+     * @param id o id da pessoa.
+     */
+    void remove(Long id);
+
+    /**
+     * Reconstrói o índice a partir de uma fonte completa de pessoas.
+     * O novo conteúdo é montado à parte; as alterações recebidas enquanto isso são reaplicadas antes da troca.
+     *
+     * @param source recebe o consumidor de {@code (id, nome)} e deve entregar todas as pessoas.
+     */
+    void rebuild(Consumer<BiConsumer<Long, String>> source);
+
+    /**
+     * @return {@code true} se o índice já foi montado e pode responder consultas.
+     */
+    boolean isReady();
+
+    /**
+     * @return a quantidade de pessoas indexadas.
+     */
+    int size();
+}
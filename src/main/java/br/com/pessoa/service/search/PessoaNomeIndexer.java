@@ -0,0 +1,84 @@
+package br.com.pessoa.service.search;
+
+import br.com.pessoa.config.ApplicationProperties;
+import br.com.pessoa.service.PessoaQueryService;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantém os índices de nome em memória ({@link PessoaNomeIndex}) em dia com o banco.
+ * <p>
+ * Cada índice é montado quando a aplicação fica pronta, lendo todas as pessoas em streaming, e depois
+ * recebe cada {@link PessoaNomeChangedEvent} após o commit da transação que o publicou; escritas
+ * desfeitas por rollback nunca chegam aos índices. Escritas que não passam pelo
+ * {@link br.com.pessoa.service.PessoaService} só aparecem nos índices na próxima reconstrução; até lá o
+ * {@code nome.contains} percebe inclusões e remoções feitas por fora ({@link NomeTrigramIndex#covers(long, long)}) e
+ * volta ao {@code like}. Uma troca de nome feita por fora não é percebida: com mais de uma instância gravando no mesmo
+ * banco, o índice deve ficar desligado ({@code application.search.nome-index-enabled=false}).
+ */
+@Component
+public class PessoaNomeIndexer {
+
+    private final Logger log = LoggerFactory.getLogger(PessoaNomeIndexer.class);
+
+    private final List<PessoaNomeIndex> indexes;
+
+    private final PessoaQueryService pessoaQueryService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public PessoaNomeIndexer(
+        List<PessoaNomeIndex> indexes,
+        PessoaQueryService pessoaQueryService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.indexes = indexes;
+        this.pessoaQueryService = pessoaQueryService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (applicationProperties.getSearch().isNomeIndexEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstrói os índices a partir de todas as pessoas do banco, um de cada vez.
+     */
+    public void rebuild() {
+        for (PessoaNomeIndex index : indexes) {
+            long start = System.currentTimeMillis();
+            index.rebuild(sink ->
+                pessoaQueryService.streamByCriteria(new PessoaCriteria(), pessoaDTO -> sink.accept(pessoaDTO.getId(), pessoaDTO.getNome()))
+            );
+            log.info(
+                "Indexed {} Pessoa names into {} in {} ms",
+                index.size(),
+                index.getClass().getSimpleName(),
+                System.currentTimeMillis() - start
+            );
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPessoaNomeChanged(PessoaNomeChangedEvent event) {
+        if (!applicationProperties.getSearch().isNomeIndexEnabled()) {
+            return;
+        }
+        for (PessoaNomeIndex index : indexes) {
+            if (event.isRemoved()) {
+                index.remove(event.getId());
+            } else {
+                index.put(event.getId(), event.getNome());
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.pessoa.web.filter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Conta os comandos SQL de cada requisição e devolve o total nos cabeçalhos {@value #QUERY_COUNT_HEADER} e
+ * {@code Server-Timing} ({@code db;dur=<ms>}).
+ * <p>
+ * Os cabeçalhos são gravados quando a resposta começa a ser escrita, então trazem o que foi executado até ali; comandos
+ * disparados durante a serialização (associações lazy) entram só no aviso de N+1. Esse aviso é registrado quando o
+ * mesmo comando roda mais de {@code application.query-count.repeat-threshold} vezes na requisição.
+ * <p>
+ * A contagem é da thread da requisição ({@link RequestQueryStats}). Nas requisições assíncronas ({@code Flux},
+ * {@code DeferredResult}) e nas que passam a gravação para outra thread ({@link RequestQueryStats#markDeferred()}: POST
+ * em modo write-behind, importação de enderecos), o total ficaria incompleto, e os cabeçalhos não são gravados.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final int repeatThreshold;
+
+    public QueryCountFilter(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        StatsHeaderResponse statsResponse = new StatsHeaderResponse(request, response, stats);
+        try {
+            filterChain.doFilter(request, statsResponse);
+        } finally {
+            RequestQueryStats.end();
+            if (isAsyncStarted(request)) {
+                // A resposta sai depois, em outra thread ou em outro dispatch, que este filtro não acompanha
+                stats.setDeferred();
+            }
+            statsResponse.writeStatsHeaders();
+            warnOnRepeatedStatement(request, stats);
+        }
+    }
+
+    private void warnOnRepeatedStatement(HttpServletRequest request, RequestQueryStats stats) {
+        Map.Entry<String, Integer> mostRepeated = stats.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() > repeatThreshold) {
+            log.warn(
+                "{} {} executed the same SQL statement {} times ({} statements in total), possible N+1: {}",
+                request.getMethod(),
+                request.getRequestURI(),
+                mostRepeated.getValue(),
+                stats.getStatementCount(),
+                mostRepeated.getKey()
+            );
+        }
+    }
+
+    /**
+     * Grava os cabeçalhos de contagem antes do primeiro byte do corpo, enquanto ainda é possível.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        private final RequestQueryStats stats;
+
+        private boolean written;
+
+        StatsHeaderResponse(HttpServletRequest request, HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeStatsHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeStatsHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeStatsHeaders();
+            super.flushBuffer();
+        }
+
+        void writeStatsHeaders() {
+            if (written || isCommitted() || stats.isDeferred() || request.isAsyncStarted()) {
+                return;
+            }
+            written = true;
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+            addHeader(SERVER_TIMING_HEADER, "db;dur=" + stats.getElapsedMillis() + ";desc=\"" + stats.getStatementCount() + " queries\"");
+        }
+    }
+}
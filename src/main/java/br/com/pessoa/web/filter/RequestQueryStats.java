@@ -0,0 +1,90 @@
+package br.com.pessoa.web.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Comandos SQL executados pela requisição HTTP em andamento na thread atual.
+ * <p>
+ * O contexto é aberto pelo {@link QueryCountFilter} e alimentado pelo {@link br.com.pessoa.config.QueryCountListener};
+ * comandos executados fora de uma requisição (jobs, flusher do write-behind, inicialização) não são contados. Cada
+ * execução conta uma vez, inclusive um lote JDBC inteiro, que é uma única ida ao banco.
+ * <p>
+ * Por ser da thread, o contexto não acompanha o trabalho que a requisição passa para outras threads. Quem faz isso chama
+ * {@link #markDeferred()}, e as requisições assíncronas do Servlet são marcadas pelo filtro; nos dois casos o total
+ * ficaria abaixo do real e os cabeçalhos são omitidos.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private int statementCount;
+
+    private long elapsedMillis;
+
+    private volatile boolean deferred;
+
+    private RequestQueryStats() {}
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return o contexto da requisição em andamento, ou {@code null} fora de uma requisição.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Avisa que parte do trabalho da requisição em andamento roda em outra thread, fora da contagem. Sem efeito fora de
+     * uma requisição.
+     */
+    public static void markDeferred() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.deferred = true;
+        }
+    }
+
+    public void record(String sql, long elapsedMillis) {
+        statementCount++;
+        this.elapsedMillis += elapsedMillis;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    /**
+     * @return se parte do trabalho da requisição rodou fora da contagem.
+     */
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    void setDeferred() {
+        deferred = true;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return o comando executado mais vezes e quantas, ou {@code null} se nenhum foi executado.
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
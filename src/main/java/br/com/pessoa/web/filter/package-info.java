@@ -0,0 +1,4 @@
+/**
+ * Servlet filters.
+ */
+package br.com.pessoa.web.filter;
@@ -1,17 +1,27 @@
 package br.com.pessoa.web.rest;
 
-import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.config.ApplicationProperties;
+import br.com.pessoa.service.EnderecoImportService;
+import br.com.pessoa.service.EnderecoQueryService;
 import br.com.pessoa.service.EnderecoService;
+import br.com.pessoa.service.criteria.EnderecoCriteria;
 import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.ImportJobDTO;
+import br.com.pessoa.web.filter.RequestQueryStats;
 import br.com.pessoa.web.rest.errors.BadRequestAlertException;
+import br.com.pessoa.web.rest.util.ETagUtil;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
@@ -21,7 +31,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller para gerenciamento de {@link br.com.pessoa.domain.Endereco}.
@@ -39,11 +48,22 @@ public class EnderecoResource {
 
     private final EnderecoService enderecoService;
 
-    private final EnderecoRepository enderecoRepository;
+    private final EnderecoQueryService enderecoQueryService;
 
-    public EnderecoResource(EnderecoService enderecoService, EnderecoRepository enderecoRepository) {
+    private final EnderecoImportService enderecoImportService;
+
+    private final long importMaxBytes;
+
+    public EnderecoResource(
+        EnderecoService enderecoService,
+        EnderecoQueryService enderecoQueryService,
+        EnderecoImportService enderecoImportService,
+        ApplicationProperties applicationProperties
+    ) {
         this.enderecoService = enderecoService;
-        this.enderecoRepository = enderecoRepository;
+        this.enderecoQueryService = enderecoQueryService;
+        this.enderecoImportService = enderecoImportService;
+        this.importMaxBytes = applicationProperties.getImport().getMaxBytes();
     }
 
     /**
@@ -66,19 +86,60 @@ public class EnderecoResource {
             .body(result);
     }
 
+    /**
+     * {@code POST /enderecos/import} : Importa enderecos em segundo plano, a partir de um array JSON ou de um CSV com cabeçalho.
+     * <p>
+     * O corpo é gravado em disco antes da resposta; o progresso é consultado em {@code GET /api/jobs/:id}.
+     *
+     * @param request a requisição, lida como fluxo para não carregar o arquivo em memória.
+     * @return o {@link ResponseEntity} com status {@code 202 (Accepted)} e com corpo o job criado,
+     * ou com status {@code 400 (Bad Request)} se o corpo exceder {@code application.import.max-bytes},
+     * ou com status {@code 503 (Service Unavailable)} se a fila de importação estiver cheia.
+     * @throws IOException se o corpo não puder ser lido ou gravado em disco.
+     * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
+     */
+    @PostMapping(value = "/enderecos/import", consumes = { "application/json", "text/csv" })
+    public ResponseEntity<ImportJobDTO> importEnderecos(HttpServletRequest request) throws IOException, URISyntaxException {
+        log.debug("REST request to import Enderecos : {}, {} bytes", request.getContentType(), request.getContentLengthLong());
+        if (request.getContentLengthLong() > importMaxBytes) {
+            throw new BadRequestAlertException("Import body is too large", ENTITY_NAME, "importtoolarge");
+        }
+        EnderecoImportService.Format format = request.getContentType().startsWith("text/csv")
+            ? EnderecoImportService.Format.CSV
+            : EnderecoImportService.Format.JSON;
+        // A gravação roda no executor de importação, fora da contagem de comandos da requisição
+        RequestQueryStats.markDeferred();
+        ImportJobDTO job;
+        try {
+            job = enderecoImportService.submit(request.getInputStream(), format);
+        } catch (EnderecoImportService.TooLargeException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importtoolarge");
+        } catch (TaskRejectedException e) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "importqueuefull", "Import queue is full"))
+                .build();
+        }
+        return ResponseEntity.accepted().location(new URI("/api/jobs/" + job.getId())).body(job);
+    }
+
     /**
      * {@code PUT /enderecos/:id} : Atualiza um endereco existente.
      *
      * @param id o id do enderecoDTO a ser salvo.
+     * @param ifMatch a ETag esperada; se informada, sobrepõe a versão do corpo.
      * @param enderecoDTO o enderecoDTO a ser atualizado.
      * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo o enderecoDTO atualizado,
      * ou com status {@code 400 (Bad Request)} se o enderecoDTO não for válido,
+     * ou com status {@code 404 (Not Found)} se o enderecoDTO não for encontrado,
+     * ou com status {@code 412 (Precondition Failed)} se o enderecoDTO tiver sido alterado por outra requisição,
      * ou com status {@code 500 (Internal Server Error)} se o enderecoDTO não puder ser atualizado.
      * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
      */
     @PutMapping("/enderecos/{id}")
     public ResponseEntity<EnderecoDTO> updateEndereco(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EnderecoDTO enderecoDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Endereco : {}, {}", id, enderecoDTO);
@@ -88,32 +149,36 @@ public class EnderecoResource {
         if (!Objects.equals(id, enderecoDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!enderecoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!ETagUtil.applyIfMatch(ifMatch, enderecoDTO::setVersion)) {
+            return preconditionFailed(id);
         }
 
-        EnderecoDTO result = enderecoService.update(enderecoDTO);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, enderecoDTO.getId().toString()))
-            .body(result);
+        Optional<EnderecoDTO> result;
+        try {
+            result = enderecoService.update(enderecoDTO);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(id);
+        }
+        return updatedOrNotFound(result);
     }
 
     /**
      * {@code PATCH /enderecos/:id} : Atualizações parciais dados campos de um endereco existente, o campo será ignorado se for nulo
      *
      * @param id o id do enderecoDTO a ser salvo.
+     * @param ifMatch a ETag esperada; se informada, sobrepõe a versão do corpo.
      * @param enderecoDTO o enderecoDTO a ser atualizado.
      * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo o enderecoDTO atualizado,
      * ou com status {@code 400 (Bad Request)} se o enderecoDTO não for válido,
      * ou com status {@code 404 (Not Found)} se o enderecoDTO não for encontrado,
+     * ou com status {@code 412 (Precondition Failed)} se o enderecoDTO tiver sido alterado por outra requisição,
      * ou com status {@code 500 (Internal Server Error)} se o enderecoDTO não puder ser atualizado.
      * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
      */
     @PatchMapping(value = "/enderecos/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EnderecoDTO> partialUpdateEndereco(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EnderecoDTO enderecoDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Endereco partially : {}, {}", id, enderecoDTO);
@@ -123,44 +188,87 @@ public class EnderecoResource {
         if (!Objects.equals(id, enderecoDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!enderecoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!ETagUtil.applyIfMatch(ifMatch, enderecoDTO::setVersion)) {
+            return preconditionFailed(id);
         }
 
-        Optional<EnderecoDTO> result = enderecoService.partialUpdate(enderecoDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, enderecoDTO.getId().toString())
-        );
+        Optional<EnderecoDTO> result;
+        try {
+            result = enderecoService.partialUpdate(enderecoDTO);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(id);
+        }
+        return updatedOrNotFound(result);
     }
 
     /**
      * {@code GET /enderecos} : obtém todos os enderecos.
      *
      * @param pageable as informações de paginação.
+     * @param criteria os critérios aos quais as entidades solicitadas devem atender.
      * @return o {@link ResponseEntity} com status {@code 200 (OK)} e a lista de enderecos no corpo.
      */
     @GetMapping("/enderecos")
-    public ResponseEntity<List<EnderecoDTO>> getAllEnderecos(Pageable pageable) {
-        log.debug("REST request to get a page of Enderecos");
-        Page<EnderecoDTO> page = enderecoService.findAll(pageable);
+    public ResponseEntity<List<EnderecoDTO>> getAllEnderecos(EnderecoCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get Enderecos by criteria: {}", criteria);
+        Page<EnderecoDTO> page = enderecoQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET /pessoas/:id/enderecos} : obtém os enderecos de uma pessoa, pelo índice de {@code pessoa_id}.
+     *
+     * @param id o id da pessoa.
+     * @param pageable as informações de paginação.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e a lista de enderecos no corpo; vazia se a pessoa não existir.
+     */
+    @GetMapping("/pessoas/{id}/enderecos")
+    public ResponseEntity<List<EnderecoDTO>> getEnderecosByPessoa(@PathVariable Long id, Pageable pageable) {
+        log.debug("REST request to get a page of Enderecos of Pessoa : {}", id);
+        Page<EnderecoDTO> page = enderecoService.findAllByPessoaId(id, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET /enderecos/count} : conta todos os enderecos.
+     *
+     * @param criteria os critérios aos quais as entidades solicitadas devem atender.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e a contagem no corpo.
+     */
+    @GetMapping("/enderecos/count")
+    public ResponseEntity<Long> countEnderecos(EnderecoCriteria criteria) {
+        log.debug("REST request to count Enderecos by criteria: {}", criteria);
+        return ResponseEntity.ok().body(enderecoQueryService.countByCriteria(criteria));
+    }
+
     /**
      * {@code GET /enderecos/:id} : obtém o "id" endereco.
      *
      * @param id o id do enderecoDTO a ser recuperado.
-     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo enderecoDTO, ou com status {@code 404 (Not Found)}.
+     * @param ifNoneMatch as ETags já conhecidas pelo cliente.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)}, a {@code ETag} da versão e com corpo enderecoDTO,
+     * ou com status {@code 304 (Not Modified)} se a versão atual estiver em {@code If-None-Match},
+     * ou com status {@code 404 (Not Found)}.
      */
     @GetMapping("/enderecos/{id}")
-    public ResponseEntity<EnderecoDTO> getEndereco(@PathVariable Long id) {
+    public ResponseEntity<EnderecoDTO> getEndereco(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Endereco : {}", id);
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão, sem mapear nem serializar o corpo
+            Optional<Long> version = enderecoService.findVersion(id);
+            if (version.isPresent() && ETagUtil.matches(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagUtil.fromVersion(version.get())).build();
+            }
+        }
         Optional<EnderecoDTO> enderecoDTO = enderecoService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(enderecoDTO);
+        return enderecoDTO
+            .map(found -> ResponseEntity.ok().headers(ETagUtil.withETag(new HttpHeaders(), found.getVersion())).body(found))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -178,4 +286,20 @@ public class EnderecoResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<EnderecoDTO> updatedOrNotFound(Optional<EnderecoDTO> result) {
+        return result
+            .map(updated -> {
+                HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getId().toString());
+                return ResponseEntity.ok().headers(ETagUtil.withETag(headers, updated.getVersion())).body(updated);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<EnderecoDTO> preconditionFailed(Long id) {
+        return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "versionmismatch", "Entity was modified: " + id))
+            .build();
+    }
 }
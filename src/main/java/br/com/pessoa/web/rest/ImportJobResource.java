@@ -0,0 +1,38 @@
+package br.com.pessoa.web.rest;
+
+import br.com.pessoa.service.EnderecoImportService;
+import br.com.pessoa.service.dto.ImportJobDTO;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller para consulta dos jobs de importação.
+ */
+@RestController
+@RequestMapping("/api")
+public class ImportJobResource {
+
+    private final Logger log = LoggerFactory.getLogger(ImportJobResource.class);
+
+    private final EnderecoImportService enderecoImportService;
+
+    public ImportJobResource(EnderecoImportService enderecoImportService) {
+        this.enderecoImportService = enderecoImportService;
+    }
+
+    /**
+     * {@code GET  /jobs/:id} : obtém a situação do job "id": progresso, vazão e linhas recusadas.
+     *
+     * @param id o id do job.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo o job, ou com status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable UUID id) {
+        log.debug("REST request to get import job : {}", id);
+        return ResponseUtil.wrapOrNotFound(enderecoImportService.findJob(id));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.pessoa.web.rest;
+
+import br.com.pessoa.service.PessoaReactiveQueryService;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.dto.PessoaDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller de leitura não bloqueante de {@link br.com.pessoa.domain.Pessoa}.
+ * <p>
+ * Os endpoints bloqueantes continuam em {@link PessoaResource}; estes respondem de forma assíncrona, liberando a thread
+ * do servidor enquanto o banco responde.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class PessoaReactiveResource {
+
+    private final Logger log = LoggerFactory.getLogger(PessoaReactiveResource.class);
+
+    private final PessoaReactiveQueryService pessoaReactiveQueryService;
+
+    public PessoaReactiveResource(PessoaReactiveQueryService pessoaReactiveQueryService) {
+        this.pessoaReactiveQueryService = pessoaReactiveQueryService;
+    }
+
+    /**
+     * {@code GET /pessoas} : obtém todas as pessoas que atendem aos critérios, na ordem do id.
+     * <p>
+     * Em NDJSON ({@code application/x-ndjson}) ou server-sent events ({@code text/event-stream}), cada pessoa é escrita
+     * assim que lida e a próxima só é pedida ao banco depois disso, de forma que um cliente lento segura a leitura em vez
+     * de acumular o resultado em memória. Em JSON, a lista é montada antes de ser escrita.
+     *
+     * @param criteria os critérios aos quais as entidades devem atender.
+     * @return o {@link Flux} das pessoas.
+     */
+    @GetMapping(
+        value = "/pessoas",
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE }
+    )
+    public Flux<PessoaDTO> getAllPessoas(PessoaCriteria criteria) {
+        log.debug("REST request to get Pessoas reactively by criteria: {}", criteria);
+        return pessoaReactiveQueryService.findByCriteria(criteria);
+    }
+}
@@ -1,17 +1,25 @@
 package br.com.pessoa.web.rest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,16 +28,32 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import br.com.pessoa.repository.PessoaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.pessoa.config.ApplicationProperties;
 import br.com.pessoa.service.PessoaQueryService;
 import br.com.pessoa.service.PessoaService;
+import br.com.pessoa.service.PessoaWriteBehindService;
 import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.criteria.PessoaCursor;
+import br.com.pessoa.service.dto.PessoaAutocompleteDTO;
+import br.com.pessoa.service.dto.PessoaBatchItemDTO;
+import br.com.pessoa.service.dto.PessoaBulkResultDTO;
+import br.com.pessoa.service.dto.PessoaCompletoDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.web.filter.RequestQueryStats;
 import br.com.pessoa.web.rest.errors.BadRequestAlertException;
+import br.com.pessoa.web.rest.util.ETagUtil;
+import br.com.pessoa.web.rest.util.SlicePaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -50,21 +74,30 @@ public class PessoaResource {
 
     private final PessoaService pessoaService;
 
-    private final PessoaRepository pessoaRepository;
-
     private final PessoaQueryService pessoaQueryService;
 
-    public PessoaResource(PessoaService pessoaService, PessoaRepository pessoaRepository, PessoaQueryService pessoaQueryService) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    public PessoaResource(
+        PessoaService pessoaService,
+        PessoaQueryService pessoaQueryService,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
         this.pessoaService = pessoaService;
-        this.pessoaRepository = pessoaRepository;
         this.pessoaQueryService = pessoaQueryService;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * {@code POST /pessoas} : Crie uma nova pessoa.
      *
      * @param pessoaDTO a pessoaDTO a ser criada.
-     * @return o {@link ResponseEntity} com status {@code 201 (Created)} e com corpo a nova pessoaDTO, ou com status {@code 400 (Bad Request)} caso a pessoa já possua um ID.
+     * @return o {@link ResponseEntity} com status {@code 201 (Created)} e com corpo a nova pessoaDTO, ou com status {@code 400 (Bad Request)} caso a pessoa já possua um ID,
+     * ou com status {@code 429 (Too Many Requests)} se a fila do modo write-behind estiver cheia.
      * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
      */
     @PostMapping("/pessoas")
@@ -73,26 +106,62 @@ public class PessoaResource {
         if (pessoaDTO.getId() != null) {
             throw new BadRequestAlertException("A new pessoa cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        PessoaDTO result = pessoaService.save(pessoaDTO);
+        if (applicationProperties.getWriteBehind().isEnabled()) {
+            // O INSERT sai na thread de gravação, fora da contagem de comandos da requisição
+            RequestQueryStats.markDeferred();
+        }
+        PessoaDTO result;
+        try {
+            result = pessoaService.save(pessoaDTO);
+        } catch (PessoaWriteBehindService.QueueFullException e) {
+            HttpHeaders headers = HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "writequeuefull", e.getMessage());
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).headers(headers).build();
+        }
         return ResponseEntity
             .created(new URI("/api/pessoas/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST /pessoas/bulk} : Crie várias pessoas em lote.
+     *
+     * @param pessoaDTOs as pessoaDTOs a serem criadas.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo o resultado de cada item, na ordem da requisição,
+     * ou com status {@code 400 (Bad Request)} caso o lote exceda o tamanho máximo.
+     */
+    @PostMapping("/pessoas/bulk")
+    public ResponseEntity<List<PessoaBulkResultDTO>> createPessoas(@RequestBody List<PessoaDTO> pessoaDTOs) {
+        log.debug("REST request to bulk save {} Pessoas", pessoaDTOs.size());
+        if (pessoaDTOs.size() > applicationProperties.getBulk().getMaxItems()) {
+            throw new BadRequestAlertException("Too many items in a single bulk request", ENTITY_NAME, "bulktoolarge");
+        }
+        List<PessoaBulkResultDTO> result = pessoaService.saveAll(pessoaDTOs);
+        long created = result.stream().filter(item -> item.getStatus() == PessoaBulkResultDTO.Status.CREATED).count();
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".bulkCreated", String.valueOf(created)))
+            .body(result);
+    }
+
     /**
      * {@code PUT /pessoas/:id} : Atualiza uma pessoa existente.
      *
      * @param id o id da pessoaDTO a ser salva.
+     * @param ifMatch a ETag esperada; se informada, sobrepõe a versão do corpo.
      * @param pessoaDTO a pessoaDTO a ser atualizada.
      * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo a pessoaDTO atualizada,
      * ou com status {@code 400 (Bad Request)} caso a pessoaDTO não seja válida,
+     * ou com status {@code 404 (Not Found)} se a pessoaDTO não for encontrada,
+     * ou com status {@code 412 (Precondition Failed)} se a pessoaDTO tiver sido alterada por outra requisição,
      * ou com status {@code 500 (Internal Server Error)} se a pessoaDTO não puder ser atualizada.
      * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
      */
     @PutMapping("/pessoas/{id}")
     public ResponseEntity<PessoaDTO> updatePessoa(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody PessoaDTO pessoaDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Pessoa : {}, {}", id, pessoaDTO);
@@ -102,32 +171,36 @@ public class PessoaResource {
         if (!Objects.equals(id, pessoaDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!pessoaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!ETagUtil.applyIfMatch(ifMatch, pessoaDTO::setVersion)) {
+            return preconditionFailed(id);
         }
 
-        PessoaDTO result = pessoaService.update(pessoaDTO);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, pessoaDTO.getId().toString()))
-            .body(result);
+        Optional<PessoaDTO> result;
+        try {
+            result = pessoaService.update(pessoaDTO);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(id);
+        }
+        return updatedOrNotFound(result);
     }
 
     /**
      * {@code PATCH /pessoas/:id} : Atualizações parciais dados campos de uma pessoa existente, campo será ignorado se for nulo
      *
      * @param id o id da pessoaDTO a ser salva.
+     * @param ifMatch a ETag esperada; se informada, sobrepõe a versão do corpo.
      * @param pessoaDTO a pessoaDTO a ser atualizada.
      * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo a pessoaDTO atualizada,
      * ou com status {@code 400 (Bad Request)} caso a pessoaDTO não seja válida,
      * ou com status {@code 404 (Not Found)} se a pessoaDTO não for encontrada,
+     * ou com status {@code 412 (Precondition Failed)} se a pessoaDTO tiver sido alterada por outra requisição,
      * ou com status {@code 500 (Internal Server Error)} se a pessoaDTO não puder ser atualizada.
      * @throws URISyntaxException se a sintaxe do URI do local estiver incorreta.
      */
     @PatchMapping(value = "/pessoas/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<PessoaDTO> partialUpdatePessoa(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody PessoaDTO pessoaDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Pessoa partially : {}, {}", id, pessoaDTO);
@@ -137,37 +210,105 @@ public class PessoaResource {
         if (!Objects.equals(id, pessoaDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!pessoaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!ETagUtil.applyIfMatch(ifMatch, pessoaDTO::setVersion)) {
+            return preconditionFailed(id);
         }
 
-        Optional<PessoaDTO> result = pessoaService.partialUpdate(pessoaDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, pessoaDTO.getId().toString())
-        );
+        Optional<PessoaDTO> result;
+        try {
+            result = pessoaService.partialUpdate(pessoaDTO);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(id);
+        }
+        return updatedOrNotFound(result);
     }
 
     /**
      * {@code GET /pessoas} : pega todas as pessoas.
+     * <p>
+     * Com o parâmetro {@code after} a paginação é feita por cursor (keyset): a primeira página é pedida com {@code after}
+     * vazio e as seguintes com o token devolvido no cabeçalho {@code X-Next-Cursor}, sem {@code OFFSET} nem contagem total.
+     * Com {@code slice=true} a paginação continua por número de página, mas sem a consulta de contagem e sem {@code X-Total-Count}.
      *
      * @param pageable as informações de paginação.
      * @param critérios os critérios aos quais as entidades solicitadas devem atender.
-     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e a lista de pessoas no corpo.
+     * @param after o cursor da paginação por keyset, opcional.
+     * @param slice se a contagem total deve ser omitida.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e a lista de pessoas no corpo,
+     * ou com status {@code 400 (Bad Request)} se o cursor ou a ordenação não forem válidos.
      */
     @GetMapping("/pessoas")
     public ResponseEntity<List<PessoaDTO>> getAllPessoas(
         PessoaCriteria criteria,
-        Pageable pageable
+        Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "slice", defaultValue = "false") boolean slice
     ) {
         log.debug("REST request to get Pessoas by criteria: {}", criteria);
+        if (after != null) {
+            return getAllPessoasAfter(criteria, pageable, after);
+        }
+        if (slice) {
+            Slice<PessoaDTO> result = pessoaQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), result);
+            return ResponseEntity.ok().headers(headers).body(result.getContent());
+        }
         Page<PessoaDTO> page = pessoaQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    private ResponseEntity<List<PessoaDTO>> getAllPessoasAfter(PessoaCriteria criteria, Pageable pageable, String after) {
+        PessoaCursor cursor;
+        if (after.isEmpty()) {
+            try {
+                cursor = PessoaCursor.first(pageable.getSort());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid");
+            }
+        } else {
+            try {
+                cursor = PessoaCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+            }
+        }
+        Slice<PessoaDTO> slice = pessoaQueryService.findByCriteriaAfter(criteria, cursor, pageable.getPageSize());
+        String nextCursor = slice.hasNext() ? cursor.next(slice.getContent().get(slice.getNumberOfElements() - 1)).encode() : null;
+        HttpHeaders headers = SlicePaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), nextCursor);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET /pessoas/export} : exporta todas as pessoas que atendem aos critérios, em NDJSON (um objeto JSON por linha).
+     * <p>
+     * O corpo é escrito à medida que as linhas são lidas do banco, sem montar a lista completa em memória.
+     *
+     * @param critérios os critérios aos quais as entidades exportadas devem atender.
+     * @param response a resposta na qual os registros são escritos.
+     * @throws IOException se a escrita na resposta falhar.
+     */
+    @GetMapping(value = "/pessoas/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportPessoas(PessoaCriteria criteria, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Pessoas by criteria: {}", criteria);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(PessoaDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            pessoaQueryService.streamByCriteria(
+                criteria,
+                pessoaDTO -> {
+                    try {
+                        writer.writeValue(generator, pessoaDTO);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+        }
+    }
+
     /**
      * {@code GET /pessoas/count} : conta todas as pessoas.
      *
@@ -180,17 +321,95 @@ public class PessoaResource {
         return ResponseEntity.ok().body(pessoaQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET /pessoas/autocomplete} : sugere pessoas pelo início do nome.
+     *
+     * @param q o início do nome digitado; acentos, maiúsculas e minúsculas são ignorados.
+     * @param size a quantidade de sugestões, limitada a {@code application.search.autocomplete-max-size}.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e as sugestões, com id e nome, em ordem alfabética.
+     */
+    @GetMapping("/pessoas/autocomplete")
+    public ResponseEntity<List<PessoaAutocompleteDTO>> autocompletePessoas(
+        @RequestParam("q") String q,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to autocomplete Pessoas : {}", q);
+        int limit = Math.max(1, Math.min(size, applicationProperties.getSearch().getAutocompleteMaxSize()));
+        return ResponseEntity.ok().body(pessoaQueryService.autocomplete(q, limit));
+    }
+
+    /**
+     * {@code GET /pessoas/batch} : obtém várias pessoas pelos ids, com uma única consulta.
+     *
+     * @param ids os ids das pessoas, separados por vírgula.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e um item por id, na ordem da requisição, com a pessoa ou a marcação {@code NOT_FOUND},
+     * ou com status {@code 400 (Bad Request)} caso a lista exceda o tamanho máximo.
+     */
+    @GetMapping("/pessoas/batch")
+    public ResponseEntity<List<PessoaBatchItemDTO>> getPessoasByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get {} Pessoas by id", ids.size());
+        return ResponseEntity.ok().body(findPessoasByIds(ids));
+    }
+
+    /**
+     * {@code POST /pessoas/batch} : obtém várias pessoas pelos ids, para listas longas demais para a URL.
+     *
+     * @param ids os ids das pessoas.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e um item por id, na ordem da requisição, com a pessoa ou a marcação {@code NOT_FOUND},
+     * ou com status {@code 400 (Bad Request)} caso a lista exceda o tamanho máximo.
+     */
+    @PostMapping("/pessoas/batch")
+    public ResponseEntity<List<PessoaBatchItemDTO>> postPessoasByIds(@RequestBody List<Long> ids) {
+        log.debug("REST request to get {} Pessoas by id", ids.size());
+        return ResponseEntity.ok().body(findPessoasByIds(ids));
+    }
+
+    private List<PessoaBatchItemDTO> findPessoasByIds(List<Long> ids) {
+        if (ids.size() > applicationProperties.getBulk().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids in a single batch request", ENTITY_NAME, "batchtoolarge");
+        }
+        return pessoaService.findAllById(ids);
+    }
+
     /**
      * {@code GET /pessoas/:id} : obtém o "id" pessoa.
      *
      * @param id o id da pessoaDTO a ser recuperada.
-     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo pessoaDTO, ou com status {@code 404 (Not Found)}.
+     * @param ifNoneMatch as ETags já conhecidas pelo cliente.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)}, a {@code ETag} da versão e com corpo pessoaDTO,
+     * ou com status {@code 304 (Not Modified)} se a versão atual estiver em {@code If-None-Match},
+     * ou com status {@code 404 (Not Found)}.
      */
     @GetMapping("/pessoas/{id}")
-    public ResponseEntity<PessoaDTO> getPessoa(@PathVariable Long id) {
+    public ResponseEntity<PessoaDTO> getPessoa(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Pessoa : {}", id);
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão, sem mapear nem serializar o corpo
+            Optional<Long> version = pessoaService.findVersion(id);
+            if (version.isPresent() && ETagUtil.matches(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagUtil.fromVersion(version.get())).build();
+            }
+        }
         Optional<PessoaDTO> pessoaDTO = pessoaService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(pessoaDTO);
+        return pessoaDTO
+            .map(found -> ResponseEntity.ok().headers(ETagUtil.withETag(new HttpHeaders(), found.getVersion())).body(found))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET /pessoas/:id/completo} : obtém o "id" pessoa com todos os seus enderecos, em uma única consulta.
+     *
+     * @param id o id da pessoa a ser recuperada.
+     * @return o {@link ResponseEntity} com status {@code 200 (OK)} e com corpo a pessoa e seus enderecos, ou com status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/pessoas/{id}/completo")
+    public ResponseEntity<PessoaCompletoDTO> getPessoaCompleto(@PathVariable Long id) {
+        log.debug("REST request to get Pessoa with Enderecos : {}", id);
+        Optional<PessoaCompletoDTO> pessoaCompletoDTO = pessoaService.findOneCompleto(id);
+        return ResponseUtil.wrapOrNotFound(pessoaCompletoDTO);
     }
 
     /**
@@ -208,4 +427,20 @@ public class PessoaResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<PessoaDTO> updatedOrNotFound(Optional<PessoaDTO> result) {
+        return result
+            .map(updated -> {
+                HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getId().toString());
+                return ResponseEntity.ok().headers(ETagUtil.withETag(headers, updated.getVersion())).body(updated);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<PessoaDTO> preconditionFailed(Long id) {
+        return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "versionmismatch", "Entity was modified: " + id))
+            .build();
+    }
 }
@@ -0,0 +1,92 @@
+package br.com.pessoa.web.rest.util;
+
+import java.util.function.Consumer;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utilitário para ETags derivadas da versão ({@link javax.persistence.Version}) das entidades.
+ * <p>
+ * A ETag é forte e vale {@code "<versão>"}: muda a cada atualização da linha, e só dela.
+ */
+public final class ETagUtil {
+
+    private static final String WILDCARD = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {}
+
+    /**
+     * Gera a ETag de uma versão.
+     *
+     * @param version a versão da entidade.
+     * @return a ETag, entre aspas.
+     */
+    public static String fromVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Adiciona o cabeçalho {@code ETag} aos cabeçalhos informados, se a versão for conhecida.
+     *
+     * @param headers os cabeçalhos da resposta.
+     * @param version a versão da entidade, ou {@code null}.
+     * @return os mesmos {@link HttpHeaders}.
+     */
+    public static HttpHeaders withETag(HttpHeaders headers, Long version) {
+        if (version != null) {
+            headers.setETag(fromVersion(version));
+        }
+        return headers;
+    }
+
+    /**
+     * Avalia um {@code If-None-Match} com comparação fraca, como pede a RFC 9110 para GET condicional.
+     *
+     * @param ifNoneMatch o valor do cabeçalho, ou {@code null}.
+     * @param version a versão atual da entidade.
+     * @return {@code true} se alguma das ETags do cabeçalho corresponder à versão, ou seja, se a resposta deve ser {@code 304}.
+     */
+    public static boolean matches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = fromVersion(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (WILDCARD.equals(candidate) || current.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrai a versão esperada de um {@code If-Match} e a repassa ao DTO, para o lock otimista do serviço.
+     * <p>
+     * Sem cabeçalho, ou com {@code *}, nada é repassado e a versão do corpo (se houver) prevalece.
+     * Só ETags fortes geradas por {@link #fromVersion(long)} são aceitas; com várias, vale a primeira.
+     *
+     * @param ifMatch o valor do cabeçalho, ou {@code null}.
+     * @param versionSetter o setter da versão no DTO.
+     * @return {@code false} se o cabeçalho não puder corresponder a nenhuma versão, caso em que a resposta deve ser {@code 412}.
+     */
+    public static boolean applyIfMatch(String ifMatch, Consumer<Long> versionSetter) {
+        if (ifMatch == null || WILDCARD.equals(ifMatch.trim())) {
+            return true;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return false;
+        }
+        try {
+            versionSetter.accept(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
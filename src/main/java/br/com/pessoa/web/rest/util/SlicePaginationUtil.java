@@ -0,0 +1,69 @@
+package br.com.pessoa.web.rest.util;
+
+import java.text.MessageFormat;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utilitário para cabeçalhos de paginação sem contagem total.
+ * <p>
+ * Complementa o {@link tech.jhipster.web.util.PaginationUtil}, que depende de uma {@link org.springframework.data.domain.Page}
+ * e, portanto, do {@code count} da consulta.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Gera os cabeçalhos de paginação de uma {@link Slice}: o {@code Link} com {@code next}, {@code prev} e {@code first},
+     * sem {@code X-Total-Count} nem {@code last}, que exigiriam a contagem total.
+     *
+     * @param uriBuilder o builder da URI da requisição atual.
+     * @param slice a fatia retornada pela consulta.
+     * @param <T> o tipo dos elementos.
+     * @return os {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Gera os cabeçalhos da paginação por cursor.
+     *
+     * @param uriBuilder o builder da URI da requisição atual.
+     * @param nextCursor o token da próxima página, ou {@code null} se esta for a última.
+     * @return os {@link HttpHeaders} com {@code X-Next-Cursor} e o {@code Link} {@code rel="next"}.
+     */
+    public static HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.add(HEADER_NEXT_CURSOR, nextCursor);
+            String link = uriBuilder.replaceQueryParam("page").replaceQueryParam("after", nextCursor).toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, link, "next"));
+        }
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder.replaceQueryParam("page", pageNumber).replaceQueryParam("size", pageSize).toUriString();
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
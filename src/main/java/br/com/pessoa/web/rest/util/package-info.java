@@ -0,0 +1,4 @@
+/**
+ * Utilitários dos controladores REST.
+ */
+package br.com.pessoa.web.rest.util;
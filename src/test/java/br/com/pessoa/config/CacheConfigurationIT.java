@@ -0,0 +1,267 @@
+package br.com.pessoa.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.EnderecoService;
+import br.com.pessoa.service.PessoaQueryService;
+import br.com.pessoa.service.PessoaService;
+import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.time.LocalDate;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Testes de integração do cache de segundo nível de {@link Pessoa} e {@link Endereco} e do cache das consultas por
+ * critérios do {@link PessoaQueryService}.
+ * <p>
+ * Sem {@code @Transactional}: cada chamada aos serviços roda na própria transação, com o próprio contexto de
+ * persistência, e só assim a segunda leitura chega ao cache L2 em vez de sair do contexto da primeira.
+ */
+@SpringBootTest
+class CacheConfigurationIT {
+
+    private static final String PESSOA_REGION = Pessoa.class.getName();
+    private static final String ENDERECO_REGION = Endereco.class.getName();
+    private static final String PESSOA_ENDERECOS_REGION = Pessoa.class.getName() + ".enderecos";
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private boolean statisticsEnabled;
+
+    private PessoaDTO pessoa;
+
+    @BeforeEach
+    void initTest() {
+        pessoa = pessoaService.save(newPessoa("Cache L2"));
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(PessoaQueryService.PESSOAS_BY_CRITERIA_CACHE).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        statistics.setStatisticsEnabled(statisticsEnabled);
+        enderecoService.findAllByPessoaId(pessoa.getId(), Pageable.unpaged()).forEach(endereco -> enderecoService.delete(endereco.getId()));
+        if (pessoaRepository.existsById(pessoa.getId())) {
+            pessoaService.delete(pessoa.getId());
+        }
+    }
+
+    @Test
+    void secondReadOfPessoaIsServedFromSecondLevelCache() {
+        assertThat(pessoaService.findOne(pessoa.getId())).isPresent();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(PESSOA_REGION);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getPutCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isZero();
+
+        assertThat(pessoaService.findOne(pessoa.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("Cache L2");
+        assertThat(region.getHitCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void secondReadOfEnderecoIsServedFromSecondLevelCache() {
+        EnderecoDTO endereco = enderecoService.save(newEndereco("Rua do Cache"));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertThat(enderecoService.findOne(endereco.getId())).isPresent();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(ENDERECO_REGION);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getPutCount()).isEqualTo(1);
+
+        assertThat(enderecoService.findOne(endereco.getId())).get().extracting(EnderecoDTO::getLogradouro).isEqualTo("Rua do Cache");
+        assertThat(region.getHitCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writingPessoaReplacesStaleEntry() {
+        assertThat(pessoaService.findOne(pessoa.getId())).isPresent();
+
+        PessoaDTO patch = new PessoaDTO();
+        patch.setId(pessoa.getId());
+        patch.setNome("Cache L2 via PATCH");
+        pessoaService.partialUpdate(patch);
+        assertThat(pessoaService.findOne(pessoa.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("Cache L2 via PATCH");
+
+        PessoaDTO put = newPessoa("Cache L2 via PUT");
+        put.setId(pessoa.getId());
+        pessoaService.update(put);
+        assertThat(pessoaService.findOne(pessoa.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("Cache L2 via PUT");
+
+        // Removida, a entrada fica só como trava do READ_WRITE: a leitura seguinte não acerta o cache
+        pessoaService.delete(pessoa.getId());
+        long hits = statistics.getDomainDataRegionStatistics(PESSOA_REGION).getHitCount();
+        assertThat(pessoaService.findOne(pessoa.getId())).isEmpty();
+        assertThat(statistics.getDomainDataRegionStatistics(PESSOA_REGION).getHitCount()).isEqualTo(hits);
+    }
+
+    @Test
+    void putKeepsTheOtherPessoasCached() {
+        PessoaDTO outra = pessoaService.save(newPessoa("Cache L2 outra"));
+        try {
+            assertThat(pessoaService.findOne(pessoa.getId())).isPresent();
+            assertThat(pessoaService.findOne(outra.getId())).isPresent();
+
+            // O PUT lê a pessoa do cache e troca só a entrada dela: a região não é esvaziada
+            PessoaDTO put = newPessoa("Cache L2 via PUT");
+            put.setId(pessoa.getId());
+            long hits = statistics.getDomainDataRegionStatistics(PESSOA_REGION).getHitCount();
+            assertThat(pessoaService.update(put)).get().extracting(PessoaDTO::getVersion).isEqualTo(pessoa.getVersion() + 1);
+            assertThat(statistics.getDomainDataRegionStatistics(PESSOA_REGION).getHitCount()).isEqualTo(hits + 1);
+
+            statistics.clear();
+            assertThat(pessoaService.findOne(outra.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("Cache L2 outra");
+            assertThat(pessoaService.findOne(pessoa.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("Cache L2 via PUT");
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(PESSOA_REGION);
+            assertThat(region.getHitCount()).isEqualTo(2);
+            assertThat(region.getMissCount()).isZero();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            pessoaService.delete(outra.getId());
+        }
+    }
+
+    @Test
+    void putOfEnderecoKeepsItCached() {
+        EnderecoDTO endereco = enderecoService.save(newEndereco("Rua Antiga"));
+        assertThat(enderecoService.findOne(endereco.getId())).isPresent();
+
+        EnderecoDTO put = newEndereco("Rua via PUT");
+        put.setId(endereco.getId());
+        enderecoService.update(put);
+
+        statistics.clear();
+        assertThat(enderecoService.findOne(endereco.getId())).get().extracting(EnderecoDTO::getLogradouro).isEqualTo("Rua via PUT");
+        assertThat(statistics.getDomainDataRegionStatistics(ENDERECO_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writingEnderecoReplacesStaleEntryAndEvictsPessoaEnderecos() {
+        EnderecoDTO endereco = enderecoService.save(newEndereco("Rua Antiga"));
+        assertThat(enderecoService.findOne(endereco.getId())).isPresent();
+        assertThat(countEnderecosOfPessoa()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(PESSOA_ENDERECOS_REGION).getPutCount()).isEqualTo(1);
+        assertThat(countEnderecosOfPessoa()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(PESSOA_ENDERECOS_REGION).getHitCount()).isEqualTo(1);
+
+        EnderecoDTO patch = new EnderecoDTO();
+        patch.setId(endereco.getId());
+        patch.setLogradouro("Rua Nova");
+        enderecoService.partialUpdate(patch);
+        assertThat(enderecoService.findOne(endereco.getId())).get().extracting(EnderecoDTO::getLogradouro).isEqualTo("Rua Nova");
+
+        // Um endereco novo da mesma pessoa tira a coleção Pessoa.enderecos do cache, que não pode voltar com um só
+        CacheRegionStatistics enderecos = statistics.getDomainDataRegionStatistics(PESSOA_ENDERECOS_REGION);
+        long collectionMisses = enderecos.getMissCount();
+        enderecoService.save(newEndereco("Rua Segunda"));
+        assertThat(countEnderecosOfPessoa()).isEqualTo(2);
+        assertThat(enderecos.getMissCount()).isEqualTo(collectionMisses + 1);
+
+        enderecoService.delete(endereco.getId());
+        long hits = statistics.getDomainDataRegionStatistics(ENDERECO_REGION).getHitCount();
+        assertThat(enderecoService.findOne(endereco.getId())).isEmpty();
+        assertThat(statistics.getDomainDataRegionStatistics(ENDERECO_REGION).getHitCount()).isEqualTo(hits);
+    }
+
+    @Test
+    void repeatedCriteriaQueryIsServedFromCacheUntilAWrite() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.id().setEquals(pessoa.getId());
+        Pageable page = PageRequest.of(0, 20);
+
+        assertThat(pessoaQueryService.findByCriteria(criteria, page).getContent()).extracting(PessoaDTO::getNome).containsExactly("Cache L2");
+        assertThat(pessoaQueryService.countByCriteria(criteria)).isEqualTo(1);
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(statements).isPositive();
+
+        // Mesmos critérios e mesma página: nenhum comando chega ao banco
+        assertThat(pessoaQueryService.findByCriteria(criteria, page).getContent()).extracting(PessoaDTO::getNome).containsExactly("Cache L2");
+        assertThat(pessoaQueryService.countByCriteria(criteria)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+
+        PessoaDTO patch = new PessoaDTO();
+        patch.setId(pessoa.getId());
+        patch.setNome("Cache de consultas");
+        pessoaService.partialUpdate(patch);
+        statements = statistics.getPrepareStatementCount();
+        assertThat(pessoaQueryService.findByCriteria(criteria, page).getContent())
+            .extracting(PessoaDTO::getNome)
+            .containsExactly("Cache de consultas");
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(statements);
+
+        // Gravar um endereco também invalida: os critérios podem filtrar por enderecoId
+        enderecoService.save(newEndereco("Rua das Consultas"));
+        statements = statistics.getPrepareStatementCount();
+        assertThat(pessoaQueryService.countByCriteria(criteria)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(statements);
+    }
+
+    private int countEnderecosOfPessoa() {
+        return transactionTemplate.execute(status -> pessoaRepository.findById(pessoa.getId()).orElseThrow().getEnderecos().size());
+    }
+
+    private static PessoaDTO newPessoa(String nome) {
+        PessoaDTO pessoaDTO = new PessoaDTO();
+        pessoaDTO.setNome(nome);
+        pessoaDTO.setDataNascimento(LocalDate.of(1980, 5, 17));
+        return pessoaDTO;
+    }
+
+    private EnderecoDTO newEndereco(String logradouro) {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setLogradouro(logradouro);
+        enderecoDTO.setCep("01310-100");
+        enderecoDTO.setNumero("100");
+        enderecoDTO.setCidade("São Paulo");
+        enderecoDTO.setEnderecoPrincipal(false);
+        PessoaDTO dono = new PessoaDTO();
+        dono.setId(pessoa.getId());
+        enderecoDTO.setPessoa(dono);
+        return enderecoDTO;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.pessoa.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Testes de integração das métricas expostas em {@code /management/prometheus}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("metrics")
+class MetricsConfigurationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exposesServiceEndpointPoolAndHibernateMetrics() throws Exception {
+        mockMvc.perform(get("/api/pessoas?nome.contains=metrica")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/enderecos/count")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/management/prometheus")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+            .contains("service_method_seconds_count{application=\"pessoa-service\",class=\"PessoaQueryService\",exception=\"none\",method=\"findByCriteria\",}")
+            .contains("service_method_seconds_count{application=\"pessoa-service\",class=\"EnderecoQueryService\"")
+            .contains("class=\"PessoaQueryService\",exception=\"none\",method=\"findByCriteria\",quantile=\"0.99\",}")
+            .contains("service_method_seconds_bucket{application=\"pessoa-service\",class=\"PessoaQueryService\"")
+            .contains("http_server_requests_seconds_bucket{application=\"pessoa-service\",exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/pessoas\"")
+            .contains("quantile=\"0.95\"")
+            .contains("hikaricp_connections_active{application=\"pessoa-service\",pool=")
+            .contains("hibernate_query_executions_total{application=\"pessoa-service\"")
+            .contains("hibernate_second_level_cache_requests_total{application=\"pessoa-service\"");
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.pessoa.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Testes de integração do modo de execução em threads virtuais ({@code application.threads.virtual-enabled}).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.threads.virtual-enabled=true")
+class VirtualThreadConfigurationIT {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void tomcatExecutesRequestsOnVirtualThreads() throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        Thread worker = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+
+        assertThat(worker.isVirtual()).isTrue();
+        assertThat(worker.getName()).startsWith("http-virtual-");
+    }
+
+    @Test
+    void contextClosesTheVirtualThreadExecutor() {
+        Executor executor = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        assertThat(executor).isSameAs(context.getBean("virtualThreadExecutor"));
+        assertThat(context.getBeanFactory().getBeanDefinition("virtualThreadExecutor").getDestroyMethodName()).isEqualTo("close");
+    }
+
+    @Test
+    void servesRequestsInVirtualThreadMode() {
+        assertThat(restTemplate.getForEntity("/api/pessoas", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.pessoa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Testes de integração dos índices criados pelo Liquibase.
+ * <p>
+ * Popula {@value #ROWS} pessoas e endereços e compara, para cada filtro, o plano e o tempo da consulta
+ * usando o índice (seek) com a mesma consulta forçada a varrer a tabela ({@code USE INDEX ()}).
+ * Os parâmetros mudam a cada execução para que o H2 não reaproveite o resultado da consulta anterior.
+ */
+@SpringBootTest
+@Transactional
+class SchemaIndexIT {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexIT.class);
+
+    private static final int ROWS = 20_000;
+
+    private static final int ITERATIONS = 200;
+
+    private static final long FIRST_ID = 1_000_000_000L;
+
+    private static final LocalDate FIRST_DATA_NASCIMENTO = LocalDate.of(1950, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        List<Object[]> pessoas = new ArrayList<>(ROWS);
+        List<Object[]> enderecos = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long id = FIRST_ID + i;
+            pessoas.add(new Object[] { id, nome(i), Date.valueOf(FIRST_DATA_NASCIMENTO.plusDays(i)) });
+            enderecos.add(new Object[] { id, "Rua " + i, String.format("%08d", i), "Cidade " + (i % 500), id });
+        }
+        jdbcTemplate.batchUpdate("insert into pessoa (id, nome, data_nascimento) values (?, ?, ?)", pessoas);
+        jdbcTemplate.batchUpdate("insert into endereco (id, logradouro, cep, cidade, pessoa_id) values (?, ?, ?, ?, ?)", enderecos);
+    }
+
+    @Test
+    void pessoaByNomeUsesIndex() {
+        assertSeekBeatsScan("pessoa", "idx_pessoa_nome", "nome = ?", i -> new Object[] { nome(i) });
+    }
+
+    @Test
+    void pessoaByDataNascimentoRangeUsesIndex() {
+        assertSeekBeatsScan(
+            "pessoa",
+            "idx_pessoa_data_nascimento",
+            "data_nascimento between ? and ?",
+            i -> new Object[] { Date.valueOf(FIRST_DATA_NASCIMENTO.plusDays(i)), Date.valueOf(FIRST_DATA_NASCIMENTO.plusDays(i + 10)) }
+        );
+    }
+
+    @Test
+    void enderecoByPessoaIdUsesIndex() {
+        assertSeekBeatsScan("endereco", "idx_endereco_pessoa_id", "pessoa_id = ?", i -> new Object[] { FIRST_ID + i });
+    }
+
+    @Test
+    void enderecoByCepUsesIndex() {
+        assertSeekBeatsScan("endereco", "idx_endereco_cep", "cep = ?", i -> new Object[] { String.format("%08d", i) });
+    }
+
+    private void assertSeekBeatsScan(String table, String index, String where, IntFunction<Object[]> args) {
+        String seek = "select * from " + table + " where " + where;
+        String scan = "select * from " + table + " use index () where " + where;
+
+        assertThat(plan(seek, args.apply(0))).containsIgnoringCase(index);
+        assertThat(plan(scan, args.apply(0))).doesNotContainIgnoringCase(index);
+
+        int expected = jdbcTemplate.queryForList(scan, args.apply(ROWS / 2)).size();
+        assertThat(expected).isPositive();
+        assertThat(jdbcTemplate.queryForList(seek, args.apply(ROWS / 2))).hasSize(expected);
+
+        long scanNanos = time(scan, args);
+        long seekNanos = time(seek, args);
+        log.info(
+            "{} where {}: scan {} us/query, seek {} us/query ({}x)",
+            table,
+            where,
+            TimeUnit.NANOSECONDS.toMicros(scanNanos / ITERATIONS),
+            TimeUnit.NANOSECONDS.toMicros(seekNanos / ITERATIONS),
+            scanNanos / Math.max(seekNanos, 1)
+        );
+        assertThat(seekNanos).isLessThan(scanNanos);
+    }
+
+    private String plan(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+    }
+
+    private long time(String sql, IntFunction<Object[]> args) {
+        // Aquecimento antes da medição
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            jdbcTemplate.queryForList(sql, args.apply(i * (ROWS / ITERATIONS)));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.queryForList(sql, args.apply(i * (ROWS / ITERATIONS)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String nome(int i) {
+        return String.format("Pessoa %05d", i);
+    }
+}
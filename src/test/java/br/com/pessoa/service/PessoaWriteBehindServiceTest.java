@@ -0,0 +1,32 @@
+package br.com.pessoa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PessoaWriteBehindServiceTest {
+
+    private static final long TARGET = 20;
+
+    private static final int MAX = 500;
+
+    @Test
+    void growsWhenFullBatchesCommitWellUnderTarget() {
+        assertThat(PessoaWriteBehindService.nextBatchLimit(16, 16, 5, TARGET, MAX)).isEqualTo(32);
+        assertThat(PessoaWriteBehindService.nextBatchLimit(400, 400, 5, TARGET, MAX)).isEqualTo(MAX);
+    }
+
+    @Test
+    void keepsLimitWhenBatchWasNotFullOrCommitIsNearTarget() {
+        assertThat(PessoaWriteBehindService.nextBatchLimit(16, 3, 1, TARGET, MAX)).isEqualTo(16);
+        assertThat(PessoaWriteBehindService.nextBatchLimit(16, 16, 15, TARGET, MAX)).isEqualTo(16);
+    }
+
+    @Test
+    void shrinksInProportionWhenCommitExceedsTarget() {
+        assertThat(PessoaWriteBehindService.nextBatchLimit(100, 100, 40, TARGET, MAX)).isEqualTo(50);
+        assertThat(PessoaWriteBehindService.nextBatchLimit(100, 100, 21, TARGET, MAX)).isEqualTo(95);
+        assertThat(PessoaWriteBehindService.nextBatchLimit(10, 10, 10_000, TARGET, MAX)).isEqualTo(1);
+        assertThat(PessoaWriteBehindService.nextBatchLimit(1, 1, 10_000, TARGET, MAX)).isEqualTo(1);
+    }
+}
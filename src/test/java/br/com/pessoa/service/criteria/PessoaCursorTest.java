@@ -0,0 +1,63 @@
+package br.com.pessoa.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.pessoa.service.dto.PessoaDTO;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class PessoaCursorTest {
+
+    @Test
+    void firstCursorDefaultsToIdAscending() {
+        PessoaCursor cursor = PessoaCursor.first(Sort.unsorted());
+        assertThat(cursor.isFirst()).isTrue();
+        assertThat(cursor.toSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void cursorUsesIdAsTieBreaker() {
+        PessoaCursor cursor = PessoaCursor.first(Sort.by(Sort.Direction.DESC, "nome"));
+        assertThat(cursor.toSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "nome").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        PessoaDTO last = new PessoaDTO();
+        last.setId(42L);
+        last.setNome("Maria, da Silva");
+        last.setDataNascimento(LocalDate.of(1990, 1, 31));
+
+        PessoaCursor byNome = PessoaCursor.first(Sort.by("nome")).next(last);
+        assertThat(PessoaCursor.decode(byNome.encode())).isEqualTo(byNome);
+
+        PessoaCursor byData = PessoaCursor.first(Sort.by(Sort.Direction.DESC, "dataNascimento")).next(last);
+        assertThat(PessoaCursor.decode(byData.encode())).isEqualTo(byData);
+
+        last.setNome(null);
+        PessoaCursor byNomeNulo = PessoaCursor.first(Sort.by("nome")).next(last);
+        assertThat(PessoaCursor.decode(byNomeNulo.encode()).getLastValue()).isNull();
+    }
+
+    @Test
+    void acceptsIdTieBreakerOnlyInTheSameDirection() {
+        Sort nomeThenId = Sort.by(Sort.Order.desc("nome"), Sort.Order.desc("id"));
+        assertThat(PessoaCursor.first(nomeThenId).toSort()).isEqualTo(nomeThenId);
+
+        // sort=nome,asc&sort=id,desc: o cursor ordenaria o id ascendente e a próxima página pularia ou repetiria registros
+        assertThatThrownBy(() -> PessoaCursor.first(Sort.by(Sort.Order.asc("nome"), Sort.Order.desc("id"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PessoaCursor.first(Sort.by(Sort.Order.asc("id"), Sort.Order.desc("id"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PessoaCursor.first(Sort.by("nome", "id", "dataNascimento"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnsupportedSortAndInvalidTokens() {
+        assertThatThrownBy(() -> PessoaCursor.first(Sort.by("enderecos"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PessoaCursor.first(Sort.by("nome", "dataNascimento"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PessoaCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.pessoa.service.dto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.pessoa.config.JacksonConfiguration;
+import br.com.pessoa.service.dto.EnderecoDTO;
+import br.com.pessoa.service.dto.PessoaCompletoDTO;
+import br.com.pessoa.service.dto.PessoaDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+ * Compara os serializadores escritos à mão com o serializador de beans, byte a byte, no {@link ObjectMapper} que o Spring
+ * Boot monta para a aplicação ({@code application.properties}, {@link JacksonAutoConfiguration} e
+ * {@link JacksonConfiguration}), na configuração padrão e com outras combinações de {@code spring.jackson.*}.
+ */
+class DtoJsonModuleTest {
+
+    private static final TypeReference<List<EnderecoDTO>> ENDERECO_LIST = new TypeReference<List<EnderecoDTO>>() {};
+
+    private static final List<String[]> CONFIGURATIONS = List.of(
+        new String[0],
+        new String[] { "spring.jackson.serialization.write-dates-as-timestamps=true" },
+        new String[] { "spring.jackson.default-property-inclusion=non_null" },
+        new String[] { "spring.jackson.default-property-inclusion=non_empty" }
+    );
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(new ConfigDataApplicationContextInitializer())
+        .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class));
+
+    private ObjectMapper beanMapper;
+
+    private ObjectMapper moduleMapper;
+
+    @BeforeEach
+    void setUp() {
+        configure();
+    }
+
+    @Test
+    void usesHandWrittenSerializersForExactClassesOnly() throws Exception {
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(PessoaDTO.class))
+            .isInstanceOf(PessoaDTOJson.Serializer.class);
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(EnderecoDTO.class))
+            .isInstanceOf(EnderecoDTOJson.Serializer.class);
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(PessoaCompletoDTO.class))
+            .isNotInstanceOf(PessoaDTOJson.Serializer.class);
+    }
+
+    @Test
+    void fallsBackToBeanSerializerForUnsupportedInclusion() throws Exception {
+        configure("spring.jackson.default-property-inclusion=non_empty");
+
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(PessoaDTO.class))
+            .isNotInstanceOf(PessoaDTOJson.Serializer.class);
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(EnderecoDTO.class))
+            .isNotInstanceOf(EnderecoDTOJson.Serializer.class);
+    }
+
+    @Test
+    void serializesPessoaFieldForField() throws Exception {
+        for (String[] properties : CONFIGURATIONS) {
+            configure(properties);
+            for (PessoaDTO pessoa : Arrays.asList(pessoa(1L), new PessoaDTO())) {
+                assertThat(moduleMapper.writeValueAsBytes(pessoa)).as(Arrays.toString(properties)).isEqualTo(beanMapper.writeValueAsBytes(pessoa));
+            }
+            List<PessoaDTO> pessoas = Arrays.asList(pessoa(1L), pessoa(2L), null);
+            assertThat(moduleMapper.writeValueAsBytes(pessoas)).as(Arrays.toString(properties)).isEqualTo(beanMapper.writeValueAsBytes(pessoas));
+        }
+    }
+
+    @Test
+    void serializesEnderecoFieldForField() throws Exception {
+        for (String[] properties : CONFIGURATIONS) {
+            configure(properties);
+            EnderecoDTO semPessoa = endereco(11L, null);
+            EnderecoDTO vazio = new EnderecoDTO();
+            List<EnderecoDTO> enderecos = Arrays.asList(endereco(10L, pessoa(1L)), endereco(12L, new PessoaDTO()), semPessoa, vazio);
+            assertThat(moduleMapper.writeValueAsBytes(enderecos)).as(Arrays.toString(properties)).isEqualTo(beanMapper.writeValueAsBytes(enderecos));
+        }
+    }
+
+    @Test
+    void serializesDatesAsTimestampsWhenConfigured() throws Exception {
+        configure("spring.jackson.serialization.write-dates-as-timestamps=true");
+
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(PessoaDTO.class))
+            .isInstanceOf(PessoaDTOJson.Serializer.class);
+        assertThat(moduleMapper.writeValueAsString(pessoa(1L))).contains("\"dataNascimento\":[1970,1,2]");
+    }
+
+    @Test
+    void omitsNullsWhenConfigured() throws Exception {
+        configure("spring.jackson.default-property-inclusion=non_null");
+
+        assertThat(moduleMapper.getSerializerProviderInstance().findValueSerializer(EnderecoDTO.class))
+            .isInstanceOf(EnderecoDTOJson.Serializer.class);
+        assertThat(moduleMapper.writeValueAsString(endereco(11L, null))).doesNotContain("null").doesNotContain("pessoa");
+    }
+
+    @Test
+    void serializesPessoaCompletoWithBeanSerializer() throws Exception {
+        PessoaCompletoDTO completo = new PessoaCompletoDTO();
+        completo.setId(1L);
+        completo.setNome("AAAAAAAAAA");
+        completo.getEnderecos().add(endereco(10L, pessoa(1L)));
+        assertThat(moduleMapper.writeValueAsString(completo)).isEqualTo(beanMapper.writeValueAsString(completo)).contains("enderecos");
+    }
+
+    @Test
+    void deserializesWhatTheBeanSerializerWrites() throws Exception {
+        List<EnderecoDTO> enderecos = Arrays.asList(endereco(10L, pessoa(1L)), endereco(11L, null), new EnderecoDTO());
+        String json = beanMapper.writeValueAsString(enderecos);
+
+        List<EnderecoDTO> lidos = moduleMapper.readValue(json, ENDERECO_LIST);
+
+        assertThat(beanMapper.writeValueAsString(lidos)).isEqualTo(json);
+    }
+
+    @Test
+    void deserializesLikeTheBeanDeserializer() throws Exception {
+        // Propriedades desconhecidas são ignoradas e escalares passam pelas coerções padrão do Jackson
+        String json = "{\"id\":\"7\",\"nome\":\"Ana\",\"dataNascimento\":\"1990-05-17\",\"enderecos\":[{\"id\":1}],\"version\":3}";
+
+        PessoaDTO lida = moduleMapper.readValue(json, PessoaDTO.class);
+
+        assertThat(beanMapper.writeValueAsString(lida)).isEqualTo(beanMapper.writeValueAsString(beanMapper.readValue(json, PessoaDTO.class)));
+        assertThat(lida.getId()).isEqualTo(7L);
+        assertThat(lida.getDataNascimento()).isEqualTo(LocalDate.of(1990, 5, 17));
+        assertThat(moduleMapper.readValue("null", PessoaDTO.class)).isNull();
+    }
+
+    /**
+     * Monta o {@code ObjectMapper} da aplicação com as propriedades informadas ({@link #moduleMapper}) e o mesmo sem o
+     * {@link DtoJsonModule}, que serializa os DTOs pelo serializador de beans ({@link #beanMapper}).
+     */
+    private void configure(String... properties) {
+        ApplicationContextRunner runner = contextRunner.withPropertyValues(properties);
+        runner.run(context -> beanMapper = context.getBean(ObjectMapper.class));
+        runner.withUserConfiguration(JacksonConfiguration.class).run(context -> moduleMapper = context.getBean(ObjectMapper.class));
+    }
+
+    private static PessoaDTO pessoa(Long id) {
+        PessoaDTO pessoa = new PessoaDTO();
+        pessoa.setId(id);
+        pessoa.setNome("Nome \"com aspas\" e acentuação " + id);
+        pessoa.setDataNascimento(LocalDate.of(1970, 1, 1).plusDays(id));
+        pessoa.setVersion(id + 1);
+        return pessoa;
+    }
+
+    private static EnderecoDTO endereco(Long id, PessoaDTO pessoa) {
+        EnderecoDTO endereco = new EnderecoDTO();
+        endereco.setId(id);
+        endereco.setLogradouro("Rua " + id);
+        endereco.setCep("57000000");
+        endereco.setNumero("12A");
+        endereco.setCidade("Maceió");
+        endereco.setEnderecoPrincipal(Boolean.TRUE);
+        endereco.setVersion(0L);
+        endereco.setPessoa(pessoa);
+        return endereco;
+    }
+}
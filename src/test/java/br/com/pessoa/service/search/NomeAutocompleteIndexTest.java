@@ -0,0 +1,71 @@
+package br.com.pessoa.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NomeAutocompleteIndexTest {
+
+    private NomeAutocompleteIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new NomeAutocompleteIndex();
+        index.rebuild(sink -> {
+            sink.accept(1L, "João da Silva");
+            sink.accept(2L, "Joana Souza");
+            sink.accept(3L, "Maria Joana");
+            sink.accept(4L, "Joana  Andrade");
+        });
+    }
+
+    @Test
+    void answersOnlyAfterRebuild() {
+        NomeAutocompleteIndex empty = new NomeAutocompleteIndex();
+        empty.put(1L, "Maria");
+        assertThat(empty.search("Ma", 10)).isEmpty();
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void matchesPrefixIgnoringCaseAndAccentsInAlphabeticalOrder() {
+        assertThat(ids("joa", 10)).containsExactly(4L, 2L, 1L);
+        assertThat(ids("JOÃO", 10)).containsExactly(1L);
+        assertThat(ids("joana a", 10)).containsExactly(4L);
+        assertThat(ids("jose", 10)).isEmpty();
+        assertThat(ids(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void limitsTheNumberOfSuggestions() {
+        assertThat(ids("jo", 2)).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void keepsUpWithWrites() {
+        index.put(1L, "Pedro Costa");
+        index.remove(2L);
+        assertThat(ids("jo", 10)).containsExactly(4L);
+        assertThat(ids("pedro", 10)).containsExactly(1L);
+        assertThat(index.search("pedro", 10).orElseThrow().get(0).getNome()).isEqualTo("Pedro Costa");
+    }
+
+    @Test
+    void replaysWritesReceivedDuringRebuild() {
+        index.rebuild(sink -> {
+            sink.accept(1L, "João da Silva");
+            // Chega enquanto o índice é montado e é mais recente que a leitura do banco
+            index.put(1L, "Jonas Silva");
+        });
+        assertThat(ids("joao", 10)).isEmpty();
+        assertThat(ids("jonas", 10)).containsExactly(1L);
+    }
+
+    private List<Long> ids(String prefix, int limit) {
+        return index.search(prefix, limit).orElseThrow().stream().map(NomeAutocompleteIndex.Suggestion::getId).collect(Collectors.toList());
+    }
+}
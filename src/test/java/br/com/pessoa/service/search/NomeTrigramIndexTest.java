@@ -0,0 +1,102 @@
+package br.com.pessoa.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NomeTrigramIndexTest {
+
+    private NomeTrigramIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new NomeTrigramIndex();
+        index.rebuild(sink -> {
+            sink.accept(1L, "Maria da Silva");
+            sink.accept(2L, "João Silveira");
+            sink.accept(3L, "Ana Maria Souza");
+            sink.accept(4L, null);
+        });
+    }
+
+    @Test
+    void answersOnlyAfterRebuild() {
+        NomeTrigramIndex empty = new NomeTrigramIndex();
+        empty.put(1L, "Maria");
+        assertThat(empty.search("Maria", 10)).isEmpty();
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void findsSubstringIgnoringCase() {
+        assertThat(index.search("silv", 10)).contains(new long[] { 1L, 2L });
+        assertThat(index.search("MARIA", 10)).contains(new long[] { 1L, 3L });
+        assertThat(index.search("ia da s", 10)).contains(new long[] { 1L });
+        assertThat(index.search("xyz", 10)).contains(new long[0]);
+    }
+
+    @Test
+    void verifiesCandidatesAgainstTheName() {
+        // Todos os trigramas de "ABCBCD" existem em "ABCD BCBC", mas a substring não
+        index.put(5L, "ABCD BCBC");
+        assertThat(index.search("ABCBCD", 10)).contains(new long[0]);
+    }
+
+    @Test
+    void coversOnlyTheSamePessoasAsTheDatabase() {
+        assertThat(new NomeTrigramIndex().covers(0, 0)).isFalse();
+        // A pessoa sem nome não é encontrada pelo nome, mas conta
+        assertThat(index.covers(4, 4)).isTrue();
+        assertThat(index.covers(5, 5)).isFalse();
+        assertThat(index.covers(4, 5)).isFalse();
+
+        index.put(5L, null);
+        assertThat(index.covers(5, 5)).isTrue();
+        index.remove(5L);
+        index.remove(4L);
+        assertThat(index.covers(3, 3)).isTrue();
+    }
+
+    @Test
+    void generationChangesOnlyOnRebuild() {
+        long generation = index.getGeneration();
+        index.put(9L, "ANA");
+        index.remove(1L);
+        assertThat(index.getGeneration()).isEqualTo(generation);
+
+        index.rebuild(sink -> sink.accept(1L, "ANA"));
+        assertThat(index.getGeneration()).isEqualTo(generation + 1);
+    }
+
+    @Test
+    void fallsBackToDatabaseWhenItCannotAnswer() {
+        assertThat(index.search("ma", 10)).isEmpty();
+        assertThat(index.search("ma%a", 10)).isEmpty();
+        assertThat(index.search("ma_ia", 10)).isEmpty();
+        assertThat(index.search("maria", 1)).isEmpty();
+    }
+
+    @Test
+    void keepsUpWithWrites() {
+        index.put(1L, "Maria Oliveira");
+        assertThat(index.search("silva", 10)).contains(new long[0]);
+        assertThat(index.search("oliveira", 10)).contains(new long[] { 1L });
+
+        index.remove(3L);
+        assertThat(index.search("maria", 10)).contains(new long[] { 1L });
+    }
+
+    @Test
+    void replaysWritesReceivedDuringRebuild() {
+        index.rebuild(sink -> {
+            sink.accept(1L, "Maria da Silva");
+            // Chega enquanto o índice é montado e é mais recente que a leitura do banco
+            index.put(1L, "Maria Costa");
+            index.put(6L, "Pedro Costa");
+        });
+        assertThat(index.search("silva", 10)).contains(new long[0]);
+        assertThat(index.search("costa", 10)).contains(new long[] { 1L, 6L });
+    }
+}
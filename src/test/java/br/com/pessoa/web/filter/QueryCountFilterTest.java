@@ -0,0 +1,107 @@
+package br.com.pessoa.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class QueryCountFilterTest {
+
+    private static final String SELECT = "select p.id from pessoa p where p.id=?";
+
+    private final QueryCountFilter filter = new QueryCountFilter(2);
+
+    @Test
+    void writesHeadersBeforeBodyIsCommitted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+            new MockHttpServletRequest("GET", "/api/pessoas"),
+            response,
+            (request, filteredResponse) -> {
+                RequestQueryStats.current().record(SELECT, 3);
+                RequestQueryStats.current().record("select count(p.id) from pessoa p", 4);
+                filteredResponse.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+                filteredResponse.flushBuffer();
+                // Depois do commit não há mais como mudar os cabeçalhos
+                RequestQueryStats.current().record(SELECT, 1);
+            }
+        );
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryCountFilter.SERVER_TIMING_HEADER)).isEqualTo("db;dur=7;desc=\"2 queries\"");
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+
+    @Test
+    void writesHeadersWhenThereIsNoBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+            new MockHttpServletRequest("DELETE", "/api/pessoas/1"),
+            response,
+            (request, filteredResponse) -> RequestQueryStats.current().record("delete from pessoa where id=?", 1)
+        );
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void omitsHeadersWhenWorkIsDeferred() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+            new MockHttpServletRequest("POST", "/api/enderecos/import"),
+            response,
+            (request, filteredResponse) -> {
+                RequestQueryStats.current().record(SELECT, 1);
+                RequestQueryStats.markDeferred();
+                filteredResponse.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            }
+        );
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+        assertThat(response.getHeader(QueryCountFilter.SERVER_TIMING_HEADER)).isNull();
+    }
+
+    @Test
+    void omitsHeadersForAsyncRequests() throws Exception {
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest("GET", "/api/pessoas");
+        asyncRequest.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+            asyncRequest,
+            response,
+            (request, filteredResponse) -> {
+                RequestQueryStats.current().record(SELECT, 1);
+                request.startAsync(request, filteredResponse);
+            }
+        );
+        // A resposta é escrita depois, fora da thread que contou os comandos
+        asyncRequest.getAsyncContext().getResponse().getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+    }
+
+    @Test
+    void tracksMostRepeatedStatement() {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            stats.record(SELECT, 1);
+            stats.record("select e.id from endereco e where e.pessoa_id=?", 1);
+            stats.record(SELECT, 1);
+            stats.record(SELECT, 1);
+
+            Map.Entry<String, Integer> mostRepeated = stats.getMostRepeated();
+            assertThat(mostRepeated.getKey()).isEqualTo(SELECT);
+            assertThat(mostRepeated.getValue()).isEqualTo(3);
+            assertThat(stats.getStatementCount()).isEqualTo(4);
+        } finally {
+            RequestQueryStats.end();
+        }
+    }
+}
@@ -2,22 +2,30 @@ package br.com.pessoa.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.domain.Pessoa;
 import br.com.pessoa.repository.EnderecoRepository;
 import br.com.pessoa.service.dto.EnderecoDTO;
 import br.com.pessoa.service.mapper.EnderecoMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -122,6 +130,24 @@ class EnderecoResourceIT {
         assertThat(testEndereco.getEnderecoPrincipal()).isEqualTo(DEFAULT_ENDERECO_PRINCIPAL);
     }
 
+    @Test
+    @Transactional
+    void createEnderecoWithPessoaId() throws Exception {
+        Pessoa pessoa = PessoaResourceIT.createEntity(em);
+        em.persist(pessoa);
+        // Como um cliente da API: a pessoa vai só com o id, sem versão
+        EnderecoDTO enderecoDTO = enderecoMapper.toDto(endereco.pessoa(pessoa));
+        assertThat(enderecoDTO.getPessoa().getVersion()).isNull();
+
+        restEnderecoMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(enderecoDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.pessoa.id").value(pessoa.getId().intValue()));
+
+        List<Endereco> enderecoList = enderecoRepository.findAll();
+        assertThat(enderecoList.get(enderecoList.size() - 1).getPessoa().getId()).isEqualTo(pessoa.getId());
+    }
+
     @Test
     @Transactional
     void createEnderecoWithExistingId() throws Exception {
@@ -160,6 +186,56 @@ class EnderecoResourceIT {
             .andExpect(jsonPath("$.[*].enderecoPrincipal").value(hasItem(DEFAULT_ENDERECO_PRINCIPAL.booleanValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllEnderecosWithSingleQuery() throws Exception {
+        // Inicializa o banco de dados com um endereco por pessoa
+        for (int i = 0; i < 3; i++) {
+            Pessoa pessoa = PessoaResourceIT.createEntity(em);
+            em.persist(pessoa);
+            enderecoRepository.save(createEntity(em).pessoa(pessoa));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // A pessoa de cada endereco deve vir da chave estrangeira, sem uma consulta por endereco
+            restEnderecoMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(1))
+                .andExpect(jsonPath("$.[*].pessoa.id").isNotEmpty());
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityStatistics(Pessoa.class.getName()).getLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getEnderecosByPessoa() throws Exception {
+        Pessoa pessoa = PessoaResourceIT.createEntity(em);
+        em.persist(pessoa);
+        enderecoRepository.saveAndFlush(endereco.pessoa(pessoa));
+        Endereco outro = enderecoRepository.saveAndFlush(createUpdatedEntity(em));
+
+        restEnderecoMockMvc
+            .perform(get("/api/pessoas/{id}/enderecos?sort=id,desc", pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(endereco.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(outro.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].pessoa.id").value(hasItem(pessoa.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getEndereco() throws Exception {
@@ -179,6 +255,404 @@ class EnderecoResourceIT {
             .andExpect(jsonPath("$.enderecoPrincipal").value(DEFAULT_ENDERECO_PRINCIPAL.booleanValue()));
     }
 
+    @Test
+    @Transactional
+    void getEnderecoWithETag() throws Exception {
+        enderecoRepository.saveAndFlush(endereco);
+
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL_ID, endereco.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL_ID, endereco.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getEnderecoAsCbor() throws Exception {
+        enderecoRepository.saveAndFlush(endereco);
+
+        byte[] body = restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL_ID, endereco.getId()).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode enderecoNode = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(enderecoNode.get("id").asLong()).isEqualTo(endereco.getId());
+        assertThat(enderecoNode.get("cep").asText()).isEqualTo(DEFAULT_CEP);
+        assertThat(enderecoNode.get("enderecoPrincipal").asBoolean()).isEqualTo(DEFAULT_ENDERECO_PRINCIPAL);
+    }
+
+    @Test
+    @Transactional
+    void getEnderecosByIdFiltering() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        Long id = endereco.getId();
+
+        defaultEnderecoShouldBeFound("id.equals=" + id);
+        defaultEnderecoShouldNotBeFound("id.notEquals=" + id);
+
+        defaultEnderecoShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultEnderecoShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultEnderecoShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultEnderecoShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByLogradouroIsEqualToSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde logradouro é igual a DEFAULT_LOGRADOURO
+        defaultEnderecoShouldBeFound("logradouro.equals=" + DEFAULT_LOGRADOURO);
+
+        // Obtém todos os enderecoList onde logradouro é igual a UPDATED_LOGRADOURO
+        defaultEnderecoShouldNotBeFound("logradouro.equals=" + UPDATED_LOGRADOURO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByLogradouroIsInShouldWork() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde logradouro está em DEFAULT_LOGRADOURO ou UPDATED_LOGRADOURO
+        defaultEnderecoShouldBeFound("logradouro.in=" + DEFAULT_LOGRADOURO + "," + UPDATED_LOGRADOURO);
+
+        // Obtém todos os enderecoList onde logradouro é igual a UPDATED_LOGRADOURO
+        defaultEnderecoShouldNotBeFound("logradouro.in=" + UPDATED_LOGRADOURO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByLogradouroIsNullOrNotNull() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde logradouro não é nulo
+        defaultEnderecoShouldBeFound("logradouro.specified=true");
+
+        // Obtém todos os enderecoList onde logradouro é nulo
+        defaultEnderecoShouldNotBeFound("logradouro.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByLogradouroContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde logradouro contém DEFAULT_LOGRADOURO
+        defaultEnderecoShouldBeFound("logradouro.contains=" + DEFAULT_LOGRADOURO);
+
+        // Obtém todos os enderecoList onde logradouro contém UPDATED_LOGRADOURO
+        defaultEnderecoShouldNotBeFound("logradouro.contains=" + UPDATED_LOGRADOURO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByLogradouroNotContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde logradouro não contém DEFAULT_LOGRADOURO
+        defaultEnderecoShouldNotBeFound("logradouro.doesNotContain=" + DEFAULT_LOGRADOURO);
+
+        // Obtém todos os enderecoList onde logradouro não contém UPDATED_LOGRADOURO
+        defaultEnderecoShouldBeFound("logradouro.doesNotContain=" + UPDATED_LOGRADOURO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCepIsEqualToSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cep é igual a DEFAULT_CEP
+        defaultEnderecoShouldBeFound("cep.equals=" + DEFAULT_CEP);
+
+        // Obtém todos os enderecoList onde cep é igual a UPDATED_CEP
+        defaultEnderecoShouldNotBeFound("cep.equals=" + UPDATED_CEP);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCepIsInShouldWork() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cep está em DEFAULT_CEP ou UPDATED_CEP
+        defaultEnderecoShouldBeFound("cep.in=" + DEFAULT_CEP + "," + UPDATED_CEP);
+
+        // Obtém todos os enderecoList onde cep é igual a UPDATED_CEP
+        defaultEnderecoShouldNotBeFound("cep.in=" + UPDATED_CEP);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCepIsNullOrNotNull() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cep não é nulo
+        defaultEnderecoShouldBeFound("cep.specified=true");
+
+        // Obtém todos os enderecoList onde cep é nulo
+        defaultEnderecoShouldNotBeFound("cep.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCepContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cep contém DEFAULT_CEP
+        defaultEnderecoShouldBeFound("cep.contains=" + DEFAULT_CEP);
+
+        // Obtém todos os enderecoList onde cep contém UPDATED_CEP
+        defaultEnderecoShouldNotBeFound("cep.contains=" + UPDATED_CEP);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCepNotContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cep não contém DEFAULT_CEP
+        defaultEnderecoShouldNotBeFound("cep.doesNotContain=" + DEFAULT_CEP);
+
+        // Obtém todos os enderecoList onde cep não contém UPDATED_CEP
+        defaultEnderecoShouldBeFound("cep.doesNotContain=" + UPDATED_CEP);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByNumeroIsEqualToSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde numero é igual a DEFAULT_NUMERO
+        defaultEnderecoShouldBeFound("numero.equals=" + DEFAULT_NUMERO);
+
+        // Obtém todos os enderecoList onde numero é igual a UPDATED_NUMERO
+        defaultEnderecoShouldNotBeFound("numero.equals=" + UPDATED_NUMERO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByNumeroIsInShouldWork() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde numero está em DEFAULT_NUMERO ou UPDATED_NUMERO
+        defaultEnderecoShouldBeFound("numero.in=" + DEFAULT_NUMERO + "," + UPDATED_NUMERO);
+
+        // Obtém todos os enderecoList onde numero é igual a UPDATED_NUMERO
+        defaultEnderecoShouldNotBeFound("numero.in=" + UPDATED_NUMERO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByNumeroIsNullOrNotNull() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde numero não é nulo
+        defaultEnderecoShouldBeFound("numero.specified=true");
+
+        // Obtém todos os enderecoList onde numero é nulo
+        defaultEnderecoShouldNotBeFound("numero.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByNumeroContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde numero contém DEFAULT_NUMERO
+        defaultEnderecoShouldBeFound("numero.contains=" + DEFAULT_NUMERO);
+
+        // Obtém todos os enderecoList onde numero contém UPDATED_NUMERO
+        defaultEnderecoShouldNotBeFound("numero.contains=" + UPDATED_NUMERO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByNumeroNotContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde numero não contém DEFAULT_NUMERO
+        defaultEnderecoShouldNotBeFound("numero.doesNotContain=" + DEFAULT_NUMERO);
+
+        // Obtém todos os enderecoList onde numero não contém UPDATED_NUMERO
+        defaultEnderecoShouldBeFound("numero.doesNotContain=" + UPDATED_NUMERO);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCidadeIsEqualToSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cidade é igual a DEFAULT_CIDADE
+        defaultEnderecoShouldBeFound("cidade.equals=" + DEFAULT_CIDADE);
+
+        // Obtém todos os enderecoList onde cidade é igual a UPDATED_CIDADE
+        defaultEnderecoShouldNotBeFound("cidade.equals=" + UPDATED_CIDADE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCidadeIsInShouldWork() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cidade está em DEFAULT_CIDADE ou UPDATED_CIDADE
+        defaultEnderecoShouldBeFound("cidade.in=" + DEFAULT_CIDADE + "," + UPDATED_CIDADE);
+
+        // Obtém todos os enderecoList onde cidade é igual a UPDATED_CIDADE
+        defaultEnderecoShouldNotBeFound("cidade.in=" + UPDATED_CIDADE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCidadeIsNullOrNotNull() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cidade não é nulo
+        defaultEnderecoShouldBeFound("cidade.specified=true");
+
+        // Obtém todos os enderecoList onde cidade é nulo
+        defaultEnderecoShouldNotBeFound("cidade.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCidadeContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cidade contém DEFAULT_CIDADE
+        defaultEnderecoShouldBeFound("cidade.contains=" + DEFAULT_CIDADE);
+
+        // Obtém todos os enderecoList onde cidade contém UPDATED_CIDADE
+        defaultEnderecoShouldNotBeFound("cidade.contains=" + UPDATED_CIDADE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByCidadeNotContainsSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde cidade não contém DEFAULT_CIDADE
+        defaultEnderecoShouldNotBeFound("cidade.doesNotContain=" + DEFAULT_CIDADE);
+
+        // Obtém todos os enderecoList onde cidade não contém UPDATED_CIDADE
+        defaultEnderecoShouldBeFound("cidade.doesNotContain=" + UPDATED_CIDADE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByEnderecoPrincipalIsEqualToSomething() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde enderecoPrincipal é igual a DEFAULT_ENDERECO_PRINCIPAL
+        defaultEnderecoShouldBeFound("enderecoPrincipal.equals=" + DEFAULT_ENDERECO_PRINCIPAL);
+
+        // Obtém todos os enderecoList onde enderecoPrincipal é igual a UPDATED_ENDERECO_PRINCIPAL
+        defaultEnderecoShouldNotBeFound("enderecoPrincipal.equals=" + UPDATED_ENDERECO_PRINCIPAL);
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByEnderecoPrincipalIsNullOrNotNull() throws Exception {
+        // Inicializa o banco de dados
+        enderecoRepository.saveAndFlush(endereco);
+
+        // Obtém todos os enderecoList onde enderecoPrincipal não é nulo
+        defaultEnderecoShouldBeFound("enderecoPrincipal.specified=true");
+
+        // Obtém todos os enderecoList onde enderecoPrincipal é nulo
+        defaultEnderecoShouldNotBeFound("enderecoPrincipal.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEnderecosByPessoaIsEqualToSomething() throws Exception {
+        Pessoa pessoa = PessoaResourceIT.createEntity(em);
+        em.persist(pessoa);
+        em.flush();
+        endereco.setPessoa(pessoa);
+        enderecoRepository.saveAndFlush(endereco);
+        Long pessoaId = pessoa.getId();
+
+        // Obtém todos os enderecoList onde pessoa é igual a pessoaId
+        defaultEnderecoShouldBeFound("pessoaId.equals=" + pessoaId);
+
+        // Obtém todos os enderecoList onde pessoa é igual a (pessoaId + 1)
+        defaultEnderecoShouldNotBeFound("pessoaId.equals=" + (pessoaId + 1));
+    }
+
+    /**
+     * Executa a pesquisa e verifica se a entidade padrão é retornada.
+     */
+    private void defaultEnderecoShouldBeFound(String filter) throws Exception {
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(endereco.getId().intValue())))
+            .andExpect(jsonPath("$.[*].logradouro").value(hasItem(DEFAULT_LOGRADOURO)))
+            .andExpect(jsonPath("$.[*].cep").value(hasItem(DEFAULT_CEP)))
+            .andExpect(jsonPath("$.[*].numero").value(hasItem(DEFAULT_NUMERO)))
+            .andExpect(jsonPath("$.[*].cidade").value(hasItem(DEFAULT_CIDADE)))
+            .andExpect(jsonPath("$.[*].enderecoPrincipal").value(hasItem(DEFAULT_ENDERECO_PRINCIPAL.booleanValue())));
+
+        // Verifica se a chamada de contagem também retorna 1
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executa a pesquisa e verifica se a entidade padrão não é retornada.
+     */
+    private void defaultEnderecoShouldNotBeFound(String filter) throws Exception {
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Verifica se a chamada de contagem também retorna 0
+        restEnderecoMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingEndereco() throws Exception {
@@ -225,6 +699,92 @@ class EnderecoResourceIT {
         assertThat(testEndereco.getEnderecoPrincipal()).isEqualTo(UPDATED_ENDERECO_PRINCIPAL);
     }
 
+    @Test
+    @Transactional
+    void putEnderecoWithoutVersionReturnsNewVersion() throws Exception {
+        enderecoRepository.saveAndFlush(endereco);
+        long version = endereco.getVersion();
+
+        EnderecoDTO enderecoDTO = enderecoMapper.toDto(createUpdatedEntity(em));
+        enderecoDTO.setId(endereco.getId());
+
+        // Sem If-Match e sem versão no corpo, a resposta ainda traz a versão nova e o ETag dela
+        restEnderecoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, endereco.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(version + 1))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    @Transactional
+    void putEnderecoWithoutSelectingPessoa() throws Exception {
+        Pessoa pessoa = PessoaResourceIT.createEntity(em);
+        em.persist(pessoa);
+        enderecoRepository.saveAndFlush(endereco);
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        EnderecoDTO enderecoDTO = enderecoMapper.toDto(createUpdatedEntity(em).pessoa(pessoa));
+        enderecoDTO.setId(endereco.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restEnderecoMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, enderecoDTO.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
+                )
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(2))
+                .andExpect(jsonPath("$.pessoa.id").value(pessoa.getId().intValue()));
+
+            // O SELECT do endereco e o UPDATE; a pessoa entra como referência, sem SELECT
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        Endereco testEndereco = enderecoRepository.findById(endereco.getId()).get();
+        assertThat(testEndereco.getLogradouro()).isEqualTo(UPDATED_LOGRADOURO);
+        assertThat(testEndereco.getPessoa().getId()).isEqualTo(pessoa.getId());
+    }
+
+    @Test
+    @Transactional
+    void putEnderecoWithStaleIfMatch() throws Exception {
+        enderecoRepository.saveAndFlush(endereco);
+
+        EnderecoDTO enderecoDTO = enderecoMapper.toDto(createUpdatedEntity(em));
+        enderecoDTO.setId(endereco.getId());
+
+        restEnderecoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, endereco.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        restEnderecoMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, endereco.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+    }
 
     @Test
     @Transactional
@@ -242,7 +802,7 @@ class EnderecoResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Valida o Endereço no banco de dados
         List<Endereco> enderecoList = enderecoRepository.findAll();
@@ -378,7 +938,7 @@ class EnderecoResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(enderecoDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Valida o Endereço no banco de dados
         List<Endereco> enderecoList = enderecoRepository.findAll();
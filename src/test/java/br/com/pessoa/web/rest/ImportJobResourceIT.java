@@ -0,0 +1,216 @@
+package br.com.pessoa.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.dto.ImportJobDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Testes de integração para o controlador REST {@link ImportJobResource} e para o {@code POST /api/enderecos/import}.
+ * <p>
+ * Sem {@code @Transactional}: o job grava em outra thread, com transações próprias, então as entidades são gravadas de
+ * fato e removidas ao final.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImportJobResourceIT {
+
+    private static final String IMPORT_API_URL = "/api/enderecos/import";
+    private static final String JOB_API_URL_ID = "/api/jobs/{id}";
+
+    private static final long POLL_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restImportJobMockMvc;
+
+    private Pessoa pessoa;
+
+    @BeforeEach
+    public void initTest() {
+        pessoa = pessoaRepository.saveAndFlush(PessoaResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        enderecoRepository.findAllByPessoaId(pessoa.getId(), Pageable.unpaged()).forEach(enderecoRepository::delete);
+        pessoaRepository.deleteById(pessoa.getId());
+    }
+
+    @Test
+    void importJson() throws Exception {
+        long missingPessoaId = pessoa.getId() + 1000;
+        String body =
+            "[" +
+            "{\"logradouro\":\"Rua A\",\"cep\":\"01000-000\",\"numero\":\"1\",\"cidade\":\"Sao Paulo\",\"enderecoPrincipal\":true,\"pessoa\":{\"id\":" +
+            pessoa.getId() +
+            "}}," +
+            "{\"id\":1,\"logradouro\":\"Rua B\"}," +
+            "{\"logradouro\":\"Rua C\",\"pessoa\":{\"id\":" +
+            missingPessoaId +
+            "}}," +
+            "{\"logradouro\":\"Rua D\",\"enderecoPrincipal\":\"talvez\"}," +
+            "{\"logradouro\":\"Rua E\",\"pessoa\":{\"id\":" +
+            pessoa.getId() +
+            "}}" +
+            "]";
+
+        ImportJobDTO job = awaitFinished(submit(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getFormat()).isEqualTo("json");
+        assertThat(job.getRowsRead()).isEqualTo(5);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getRowsRejected()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportJobDTO.RowError::getRow).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(job.getErrors())
+            .extracting(ImportJobDTO.RowError::getErrorKey)
+            .containsExactlyInAnyOrder("idexists", "pessoanotfound", "invalidrow");
+        assertThat(job.getStartedAt()).isNotNull();
+        assertThat(job.getFinishedAt()).isNotNull();
+
+        List<Endereco> enderecos = enderecoRepository.findAllByPessoaId(pessoa.getId(), Pageable.unpaged()).getContent();
+        assertThat(enderecos).extracting(Endereco::getLogradouro).containsExactlyInAnyOrder("Rua A", "Rua E");
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        String body =
+            "logradouro,cep,numero,cidade,enderecoPrincipal,pessoaId\n" +
+            "Rua A,01000-000,1,Sao Paulo,true," +
+            pessoa.getId() +
+            "\n" +
+            "Rua B,01000-000,2,Sao Paulo,talvez," +
+            pessoa.getId() +
+            "\n" +
+            "Rua C,01000-000,3,Sao Paulo,false," +
+            (pessoa.getId() + 1000) +
+            "\n" +
+            "Rua D,01000-000,4,Sao Paulo,false," +
+            pessoa.getId() +
+            "\n";
+
+        ImportJobDTO job = awaitFinished(submit("text/csv", body));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getFormat()).isEqualTo("csv");
+        assertThat(job.getRowsRead()).isEqualTo(4);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getRowsRejected()).isEqualTo(2);
+        assertThat(job.getErrors())
+            .extracting(ImportJobDTO.RowError::getErrorKey)
+            .containsExactlyInAnyOrder("invalidrow", "pessoanotfound");
+
+        List<Endereco> enderecos = enderecoRepository.findAllByPessoaId(pessoa.getId(), Pageable.unpaged()).getContent();
+        assertThat(enderecos).extracting(Endereco::getLogradouro).containsExactlyInAnyOrder("Rua A", "Rua D");
+        assertThat(enderecos).extracting(Endereco::getNumero).containsExactlyInAnyOrder("1", "4");
+    }
+
+    @Test
+    void importRowRejectedByDatabaseHidesDriverMessage() throws Exception {
+        String body =
+            "logradouro,cep,numero,cidade,enderecoPrincipal,pessoaId\n" +
+            "Rua A,01000-000,1,Sao Paulo,true," +
+            pessoa.getId() +
+            "\n" +
+            "Rua B,01000-000,2," +
+            "X".repeat(300) +
+            ",false," +
+            pessoa.getId() +
+            "\n";
+
+        ImportJobDTO job = awaitFinished(submit("text/csv", body));
+
+        // A coluna cidade tem 255 caracteres: o banco recusa a linha, e o status mostra só o código e uma mensagem fixa
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(job.getErrors()).extracting(ImportJobDTO.RowError::getErrorKey).containsExactly("dbconstraint");
+        assertThat(job.getErrors()).extracting(ImportJobDTO.RowError::getMessage).containsExactly("Row violates a database constraint");
+
+        List<Endereco> enderecos = enderecoRepository.findAllByPessoaId(pessoa.getId(), Pageable.unpaged()).getContent();
+        assertThat(enderecos).extracting(Endereco::getLogradouro).containsExactly("Rua A");
+    }
+
+    @Test
+    void importMalformedJsonFailsJob() throws Exception {
+        ImportJobDTO job = awaitFinished(submit(MediaType.APPLICATION_JSON_VALUE, "[{\"logradouro\":\"Rua A\""));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.getFailure()).isNotBlank();
+    }
+
+    @Test
+    void importUnsupportedMediaType() throws Exception {
+        restImportJobMockMvc
+            .perform(post(IMPORT_API_URL).contentType(MediaType.TEXT_PLAIN).content("x"))
+            .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void getNonExistingJob() throws Exception {
+        restImportJobMockMvc.perform(get(JOB_API_URL_ID, UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    private UUID submit(String contentType, String body) throws Exception {
+        String response = restImportJobMockMvc
+            .perform(post(IMPORT_API_URL).contentType(contentType).content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, startsWith("/api/jobs/")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return objectMapper.readValue(response, ImportJobDTO.class).getId();
+    }
+
+    private ImportJobDTO awaitFinished(UUID id) throws Exception {
+        long deadline = System.currentTimeMillis() + POLL_TIMEOUT_MILLIS;
+        while (true) {
+            String response = restImportJobMockMvc
+                .perform(get(JOB_API_URL_ID, id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            ImportJobDTO job = objectMapper.readValue(response, ImportJobDTO.class);
+            if (job.getStatus() == ImportJobDTO.Status.COMPLETED || job.getStatus() == ImportJobDTO.Status.FAILED) {
+                return job;
+            }
+            assertThat(System.currentTimeMillis()).as("job %s finished", id).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
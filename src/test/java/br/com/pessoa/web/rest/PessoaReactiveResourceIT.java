@@ -0,0 +1,172 @@
+package br.com.pessoa.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import br.com.pessoa.domain.Endereco;
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.EnderecoRepository;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.search.NomeTrigramIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Testes de integração para o controlador REST {@link PessoaReactiveResource}.
+ * <p>
+ * Sem {@code @Transactional}: a leitura via R2DBC usa outra conexão e só enxerga dados já commitados, então as entidades
+ * são gravadas de fato e removidas ao final.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PessoaReactiveResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/pessoas";
+    private static final String REACTIVE_API_URL = "/api/reactive/pessoas";
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private NomeTrigramIndex nomeTrigramIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restPessoaMockMvc;
+
+    private Pessoa ana;
+
+    private Pessoa bruno;
+
+    private Pessoa semNome;
+
+    private Endereco endereco;
+
+    private List<Long> ownIds;
+
+    @BeforeEach
+    public void initTest() {
+        ana = pessoaRepository.saveAndFlush(PessoaResourceIT.createEntity(em).nome("Ana Reativa").dataNascimento(LocalDate.of(1990, 1, 1)));
+        bruno = pessoaRepository.saveAndFlush(PessoaResourceIT.createEntity(em).nome("Bruno Reativo").dataNascimento(LocalDate.of(2000, 6, 15)));
+        semNome = pessoaRepository.saveAndFlush(PessoaResourceIT.createEntity(em).nome(null).dataNascimento(null));
+        endereco = enderecoRepository.saveAndFlush(EnderecoResourceIT.createEntity(em).pessoa(ana));
+        nomeTrigramIndex.put(ana.getId(), ana.getNome());
+        nomeTrigramIndex.put(bruno.getId(), bruno.getNome());
+        ownIds = List.of(ana.getId(), bruno.getId(), semNome.getId());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        enderecoRepository.deleteById(endereco.getId());
+        for (Pessoa pessoa : List.of(ana, bruno, semNome)) {
+            nomeTrigramIndex.remove(pessoa.getId());
+            pessoaRepository.deleteById(pessoa.getId());
+        }
+    }
+
+    @Test
+    void getAllPessoasAsNdjson() throws Exception {
+        MvcResult result = restPessoaMockMvc
+            .perform(get(REACTIVE_API_URL + "?id.greaterThanOrEqual=" + ana.getId()).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restPessoaMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(ana.getId());
+        assertThat(first.get("nome").asText()).isEqualTo("Ana Reativa");
+        assertThat(first.get("dataNascimento").asText()).isEqualTo("1990-01-01");
+        assertThat(first.get("version").asLong()).isZero();
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(bruno.getId());
+        assertThat(objectMapper.readTree(lines[2]).get("nome").isNull()).isTrue();
+    }
+
+    @Test
+    void getAllPessoasFiltersLikeTheBlockingApi() throws Exception {
+        List<String> filters = List.of(
+            "",
+            "id.notEquals=" + ana.getId(),
+            "id.in=" + ana.getId() + "," + semNome.getId(),
+            "id.greaterThan=" + ana.getId(),
+            "nome.equals=Ana Reativa",
+            "nome.in=Ana Reativa,Bruno Reativo",
+            "nome.contains=reativ",
+            "nome.doesNotContain=ana",
+            "nome.specified=false",
+            "dataNascimento.specified=true",
+            "enderecoId.equals=" + endereco.getId(),
+            "enderecoId.equals=" + (endereco.getId() + 1),
+            "enderecoId.specified=true",
+            "enderecoId.specified=false"
+        );
+        for (String filter : filters) {
+            assertThat(reactiveIds(filter)).as(filter).isEqualTo(blockingIds(filter));
+        }
+
+        assertThat(reactiveIds("nome.contains=reativ")).containsExactly(ana.getId(), bruno.getId());
+        assertThat(reactiveIds("enderecoId.specified=false")).containsExactly(bruno.getId(), semNome.getId());
+    }
+
+    private List<Long> blockingIds(String filter) throws Exception {
+        String body = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1000&" + filter))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return ids(body);
+    }
+
+    private List<Long> reactiveIds(String filter) throws Exception {
+        MvcResult result = restPessoaMockMvc
+            .perform(get(REACTIVE_API_URL + "?" + filter).accept(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restPessoaMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return ids(body);
+    }
+
+    /**
+     * Os ids da resposta que pertencem às pessoas deste teste, na ordem em que vieram.
+     */
+    private List<Long> ids(String body) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(body).forEach(node -> ids.add(node.get("id").asLong()));
+        ids.retainAll(ownIds);
+        return ids;
+    }
+}
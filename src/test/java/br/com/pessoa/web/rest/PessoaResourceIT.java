@@ -1,35 +1,53 @@
 package br.com.pessoa.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import br.com.pessoa.config.ApplicationProperties;
 import br.com.pessoa.domain.Endereco;
 import br.com.pessoa.domain.Pessoa;
 import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.PessoaQueryService;
 import br.com.pessoa.service.criteria.PessoaCriteria;
+import br.com.pessoa.service.dto.PessoaAutocompleteDTO;
 import br.com.pessoa.service.dto.PessoaDTO;
 import br.com.pessoa.service.mapper.PessoaMapper;
+import br.com.pessoa.service.search.NomeAutocompleteIndex;
+import br.com.pessoa.service.search.NomeTrigramIndex;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Testes de integração para o controlador REST {@link PessoaResource}.
+ * <p>
+ * Vários testes gravam direto pelo repositório, por fora do índice de nomes: a cobertura do índice é conferida a cada
+ * busca, sem guardar o resultado de um teste para o outro.
  */
-@SpringBootTest
+@SpringBootTest(properties = "application.search.coverage-check-millis=0")
 @AutoConfigureMockMvc
 class PessoaResourceIT {
 
@@ -52,6 +70,18 @@ class PessoaResourceIT {
     @Autowired
     private PessoaMapper pessoaMapper;
 
+    @Autowired
+    private NomeTrigramIndex nomeTrigramIndex;
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private NomeAutocompleteIndex nomeAutocompleteIndex;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private EntityManager em;
 
@@ -124,6 +154,38 @@ class PessoaResourceIT {
         assertThat(pessoaList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createPessoasBulk() throws Exception {
+        int databaseSizeBeforeCreate = pessoaRepository.findAll().size();
+        // Cria duas Pessoas válidas e uma com ID existente
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(pessoa);
+        PessoaDTO pessoaComIdDTO = pessoaMapper.toDto(createUpdatedEntity(em));
+        pessoaComIdDTO.setId(count.incrementAndGet());
+
+        restPessoaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(pessoaDTO, pessoaComIdDTO, pessoaDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[0].pessoa.id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value("REJECTED"))
+            .andExpect(jsonPath("$.[1].errorKey").value("idexists"))
+            .andExpect(jsonPath("$.[2].index").value(2))
+            .andExpect(jsonPath("$.[2].status").value("CREATED"));
+
+        // Valida as Pessoas no banco de dados
+        List<Pessoa> pessoaList = pessoaRepository.findAll();
+        assertThat(pessoaList).hasSize(databaseSizeBeforeCreate + 2);
+        Pessoa testPessoa = pessoaList.get(pessoaList.size() - 1);
+        assertThat(testPessoa.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testPessoa.getDataNascimento()).isEqualTo(DEFAULT_DATA_NASCIMENTO);
+    }
+
     @Test
     @Transactional
     void getAllPessoas() throws Exception {
@@ -141,6 +203,114 @@ class PessoaResourceIT {
     }
 
 
+    @Test
+    @Transactional
+    void getAllPessoasAsCborAndSmile() throws Exception {
+        // Inicializa o banco de dados
+        pessoaRepository.saveAndFlush(pessoa);
+
+        for (JsonFactory factory : new JsonFactory[] { new CBORFactory(), new SmileFactory() }) {
+            MediaType mediaType = factory instanceof CBORFactory ? MediaType.APPLICATION_CBOR : MediaType.valueOf("application/x-jackson-smile");
+            byte[] body = restPessoaMockMvc
+                .perform(get(ENTITY_API_URL + "?id.equals=" + pessoa.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+            // Mesmo conteúdo do JSON, inclusive a data no formato ISO
+            JsonNode pessoas = new ObjectMapper(factory).readTree(body);
+            assertThat(pessoas).hasSize(1);
+            assertThat(pessoas.get(0).get("id").asLong()).isEqualTo(pessoa.getId());
+            assertThat(pessoas.get(0).get("nome").asText()).isEqualTo(DEFAULT_NOME);
+            assertThat(pessoas.get(0).get("dataNascimento").asText()).isEqualTo(DEFAULT_DATA_NASCIMENTO.toString());
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasWithCursor() throws Exception {
+        // Inicializa o banco de dados com três pessoas de mesmo nome
+        Pessoa segunda = createEntity(em).dataNascimento(UPDATED_DATA_NASCIMENTO);
+        Pessoa terceira = createEntity(em).dataNascimento(UPDATED_DATA_NASCIMENTO);
+        pessoaRepository.saveAndFlush(pessoa);
+        pessoaRepository.saveAndFlush(segunda);
+        pessoaRepository.saveAndFlush(terceira);
+
+        // Primeira página: cursor vazio
+        String nextCursor = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=dataNascimento,asc&nome.equals=" + DEFAULT_NOME))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(pessoa.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(segunda.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotBlank();
+
+        // Segunda página: continua a partir do cursor, desempatando pelo id
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&nome.equals=" + DEFAULT_NOME + "&after=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(terceira.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasAsSlice() throws Exception {
+        // Inicializa o banco de dados
+        pessoaRepository.saveAndFlush(pessoa);
+        pessoaRepository.saveAndFlush(createEntity(em));
+
+        // Primeira fatia: há próxima página, mas nenhuma contagem total
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&page=0&size=1&sort=id,asc&nome.equals=" + DEFAULT_NOME))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(pessoa.getId().intValue()));
+
+        // Última fatia: sem link para a próxima página
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&page=1&size=1&sort=id,asc&nome.equals=" + DEFAULT_NOME))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @Transactional
+    void exportPessoas() throws Exception {
+        // Inicializa o banco de dados
+        pessoaRepository.saveAndFlush(pessoa);
+        Pessoa outra = pessoaRepository.saveAndFlush(createEntity(em));
+
+        // Exporta as pessoas filtradas, uma por linha
+        String body = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/export?id.in=" + pessoa.getId() + "," + outra.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0])
+            .isEqualTo(
+                "{\"id\":" + pessoa.getId() + ",\"nome\":\"" + DEFAULT_NOME + "\",\"dataNascimento\":\"" + DEFAULT_DATA_NASCIMENTO + "\",\"version\":0}"
+            );
+        assertThat(lines[1]).contains("\"id\":" + outra.getId());
+    }
+
     @Test
     @Transactional
     void getPessoa() throws Exception {
@@ -157,6 +327,36 @@ class PessoaResourceIT {
             .andExpect(jsonPath("$.dataNascimento").value(DEFAULT_DATA_NASCIMENTO.toString()));
     }
 
+    @Test
+    @Transactional
+    void getPessoaWithETag() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.version").value(0));
+
+        // A versão conhecida pelo cliente ainda é a atual: 304 sem corpo
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(content().string(""));
+
+        // Versão desatualizada: devolve a pessoa com a ETag atual
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"7\", \"8\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.nome").value(DEFAULT_NOME));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getPessoasByIdFiltering() throws Exception {
@@ -227,6 +427,40 @@ class PessoaResourceIT {
         defaultPessoaShouldNotBeFound("nome.contains=" + UPDATED_NOME);
     }
 
+    @Test
+    @Transactional
+    void getAllPessoasByNomeContainsUsesIndexOnlyWhenItCoversTheTable() throws Exception {
+        // Inicialize o banco de dados, direto pelo repositório: as duas pessoas ficam fora do índice de nomes
+        pessoaRepository.saveAndFlush(pessoa);
+        Pessoa outra = createEntity(em).nome("CCCAAAAAAAAAACCC");
+        pessoaRepository.saveAndFlush(outra);
+
+        // O índice não cobre a tabela, então vale só o like e nenhuma das duas fica de fora
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&nome.contains=" + DEFAULT_NOME.toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(pessoa.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(outra.getId().intValue())));
+
+        // Remontado na transação do teste, o índice cobre a tabela e passa a restringir os candidatos; o nome
+        // desatualizado de propósito mostra que só os candidatos do índice chegam ao banco
+        nomeTrigramIndex.rebuild(sink ->
+            pessoaQueryService.streamByCriteria(new PessoaCriteria(), pessoaDTO -> sink.accept(pessoaDTO.getId(), pessoaDTO.getNome()))
+        );
+        nomeTrigramIndex.put(outra.getId(), "ZZZ");
+        try {
+            restPessoaMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&nome.contains=" + DEFAULT_NOME.toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(pessoa.getId().intValue())))
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(outra.getId().intValue()))));
+        } finally {
+            // As duas pessoas somem no rollback do teste
+            nomeTrigramIndex.remove(pessoa.getId());
+            nomeTrigramIndex.remove(outra.getId());
+        }
+    }
+
     @Test
     @Transactional
     void getAllPessoasByNomeNotContainsSomething() throws Exception {
@@ -394,6 +628,179 @@ class PessoaResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    void autocompletePessoas() throws Exception {
+        Pessoa joao = pessoaRepository.saveAndFlush(createEntity(em).nome("João da Silva"));
+        Pessoa joana = pessoaRepository.saveAndFlush(createEntity(em).nome("Joana Souza"));
+        Pessoa maria = pessoaRepository.saveAndFlush(createEntity(em).nome("Maria Joana"));
+        for (Pessoa indexed : List.of(joao, joana, maria)) {
+            nomeAutocompleteIndex.put(indexed.getId(), indexed.getNome());
+        }
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/autocomplete?q=joa"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(joao.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(joana.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(maria.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem("João da Silva")));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/autocomplete?q=JOAO DA&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(joao.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void autocompleteFallbackIgnoresAccents() {
+        Pessoa jose = pessoaRepository.saveAndFlush(createEntity(em).nome(" José  de Alencar"));
+        Pessoa josefa = pessoaRepository.saveAndFlush(createEntity(em).nome("Josefa Lima"));
+        // Índice ainda não montado: a consulta vai ao banco
+        PessoaQueryService semIndice = new PessoaQueryService(
+            pessoaRepository,
+            pessoaMapper,
+            applicationProperties,
+            nomeTrigramIndex,
+            new NomeAutocompleteIndex()
+        );
+
+        assertThat(semIndice.autocomplete("jose", 10)).extracting(PessoaAutocompleteDTO::getId).contains(jose.getId(), josefa.getId());
+        assertThat(semIndice.autocomplete("JOSÉ DE", 10)).extracting(PessoaAutocompleteDTO::getId).containsExactly(jose.getId());
+        assertThat(semIndice.autocomplete("jose_", 10)).isEmpty();
+    }
+
+    @Test
+    void autocompleteFromIndexOpensNoTransaction() throws Exception {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restPessoaMockMvc.perform(get(ENTITY_API_URL + "/autocomplete?q=joa")).andExpect(status().isOk());
+
+            assertThat(statistics.getTransactionCount()).isZero();
+            assertThat(statistics.getConnectCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getPessoasByIds() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(createEntity(em));
+        Pessoa second = pessoaRepository.saveAndFlush(createUpdatedEntity(em));
+        long missing = count.incrementAndGet();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // Ordem da requisição preservada, com repetição e marcação para o id inexistente
+            restPessoaMockMvc
+                .perform(get(ENTITY_API_URL + "/batch?ids=" + second.getId() + "," + missing + "," + first.getId() + "," + second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(1))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+                .andExpect(jsonPath("$.[0].status").value("FOUND"))
+                .andExpect(jsonPath("$.[0].pessoa.nome").value(UPDATED_NOME))
+                .andExpect(jsonPath("$.[1].id").value(missing))
+                .andExpect(jsonPath("$.[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.[1].pessoa").doesNotExist())
+                .andExpect(jsonPath("$.[2].id").value(first.getId().intValue()))
+                .andExpect(jsonPath("$.[2].pessoa.nome").value(DEFAULT_NOME))
+                .andExpect(jsonPath("$.[3].id").value(second.getId().intValue()));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        restPessoaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(first.getId(), missing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("FOUND"))
+            .andExpect(jsonPath("$.[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @Transactional
+    void getPessoaCompleto() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+        Endereco principal = EnderecoResourceIT.createEntity(em).enderecoPrincipal(true).pessoa(pessoa);
+        Endereco secundario = EnderecoResourceIT.createUpdatedEntity(em).enderecoPrincipal(false).pessoa(pessoa);
+        em.persist(principal);
+        em.persist(secundario);
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restPessoaMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/completo", pessoa.getId()))
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(1))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(pessoa.getId().intValue()))
+                .andExpect(jsonPath("$.nome").value(DEFAULT_NOME))
+                .andExpect(jsonPath("$.enderecos.length()").value(2))
+                .andExpect(jsonPath("$.enderecos.[0].id").value(principal.getId().intValue()))
+                .andExpect(jsonPath("$.enderecos.[0].enderecoPrincipal").value(true))
+                .andExpect(jsonPath("$.enderecos.[1].id").value(secundario.getId().intValue()));
+
+            // Pessoa e enderecos vêm do mesmo select com join
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        restPessoaMockMvc.perform(get(ENTITY_API_URL_ID + "/completo", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void readEndpointsQueryCount() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+        em.persist(EnderecoResourceIT.createEntity(em).pessoa(pessoa));
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        restPessoaMockMvc.perform(get(ENTITY_API_URL_ID, pessoa.getId())).andExpect(status().isOk()).andExpect(TestUtil.queryCount(1));
+        // Agora no cache de segundo nível
+        restPessoaMockMvc.perform(get(ENTITY_API_URL_ID, pessoa.getId())).andExpect(status().isOk()).andExpect(TestUtil.queryCount(0));
+        // Filtro por id próprio do teste: o resultado nunca vem do cache de consultas por critérios
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.equals=" + pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(TestUtil.queryCount(1));
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/count?id.equals=" + pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(TestUtil.queryCount(1));
+        restPessoaMockMvc
+            .perform(get("/api/pessoas/{id}/enderecos", pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(TestUtil.queryCount(1));
+        restPessoaMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound()).andExpect(TestUtil.queryCount(1));
+    }
+
     @Test
     @Transactional
     void getNonExistingPessoa() throws Exception {
@@ -432,6 +839,158 @@ class PessoaResourceIT {
         assertThat(testPessoa.getDataNascimento()).isEqualTo(UPDATED_DATA_NASCIMENTO);
     }
 
+    @Test
+    @Transactional
+    void putPessoaWithoutVersionReturnsNewVersion() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+        long version = pessoa.getVersion();
+
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(new Pessoa().nome(UPDATED_NOME).dataNascimento(UPDATED_DATA_NASCIMENTO));
+        pessoaDTO.setId(pessoa.getId());
+
+        // Sem If-Match e sem versão no corpo, a resposta ainda traz a versão nova e o ETag dela
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(version + 1))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    @Transactional
+    void putAndPatchPessoaStatementCount() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(new Pessoa().nome(UPDATED_NOME).dataNascimento(UPDATED_DATA_NASCIMENTO));
+        pessoaDTO.setId(pessoa.getId());
+        PessoaDTO patchDTO = new PessoaDTO();
+        patchDTO.setId(pessoa.getId());
+        patchDTO.setNome(DEFAULT_NOME);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // PUT: o SELECT da pessoa, que não está no cache L2 esvaziado acima, e o UPDATE da entidade gerenciada
+            statistics.clear();
+            restPessoaMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, pessoa.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+                )
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(2))
+                .andExpect(jsonPath("$.nome").value(UPDATED_NOME));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+            // PUT de id inexistente: só o SELECT, que não encontra a pessoa
+            statistics.clear();
+            pessoaDTO.setId(Long.MAX_VALUE);
+            restPessoaMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(TestUtil.queryCount(1));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            // PATCH: um SELECT e um UPDATE, na mesma transação (o flush força o UPDATE que sairia no commit)
+            em.clear();
+            em.getEntityManagerFactory().getCache().evictAll();
+            statistics.clear();
+            restPessoaMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, pessoa.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(patchDTO))
+                )
+                .andExpect(status().isOk())
+                .andExpect(TestUtil.queryCount(2))
+                .andExpect(jsonPath("$.nome").value(DEFAULT_NOME))
+                .andExpect(jsonPath("$.dataNascimento").value(UPDATED_DATA_NASCIMENTO.toString()));
+            em.flush();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    void putAndPatchPessoaWithIfMatch() throws Exception {
+        pessoaRepository.saveAndFlush(pessoa);
+
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(new Pessoa().nome(UPDATED_NOME).dataNascimento(UPDATED_DATA_NASCIMENTO));
+        pessoaDTO.setId(pessoa.getId());
+
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        PessoaDTO patchDTO = new PessoaDTO();
+        patchDTO.setId(pessoa.getId());
+        patchDTO.setNome(DEFAULT_NOME);
+
+        restPessoaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, pessoa.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(patchDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+            .andExpect(jsonPath("$.nome").value(DEFAULT_NOME));
+
+        // A ETag "1" ficou para trás: tanto o PUT quanto o PATCH recusam a escrita
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restPessoaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, pessoa.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(patchDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        // ETag fraca nunca passa na comparação forte do If-Match
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        em.clear();
+        Pessoa testPessoa = pessoaRepository.findById(pessoa.getId()).get();
+        assertThat(testPessoa.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testPessoa.getVersion()).isEqualTo(2L);
+    }
+
     @Test
     @Transactional
     void putNonExistingPessoa() throws Exception {
@@ -441,14 +1000,14 @@ class PessoaResourceIT {
         // Cria a Pessoa
         PessoaDTO pessoaDTO = pessoaMapper.toDto(pessoa);
 
-        // Se a entidade não tiver um ID, ela lançará BadRequestAlertException
+        // A entidade não existe, então a atualização não afeta nenhuma linha
         restPessoaMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, pessoaDTO.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Valida a Pessoa no banco de dados
         List<Pessoa> pessoaList = pessoaRepository.findAll();
@@ -568,14 +1127,14 @@ class PessoaResourceIT {
         // Cria a Pessoa
         PessoaDTO pessoaDTO = pessoaMapper.toDto(pessoa);
 
-        // Se a entidade não tiver um ID, ela lançará BadRequestAlertException
+        // A entidade não existe, então a atualização não afeta nenhuma linha
         restPessoaMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, pessoaDTO.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(pessoaDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Valida a Pessoa no banco de dados
         List<Pessoa> pessoaList = pessoaRepository.findAll();
@@ -0,0 +1,214 @@
+package br.com.pessoa.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.pessoa.domain.Pessoa;
+import br.com.pessoa.repository.PessoaRepository;
+import br.com.pessoa.service.PessoaWriteBehindService;
+import br.com.pessoa.service.dto.PessoaDTO;
+import br.com.pessoa.service.search.PessoaNomeChangedEvent;
+import br.com.pessoa.web.filter.QueryCountFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Testes de integração do modo write-behind do {@code POST /api/pessoas} ({@code application.write-behind.enabled}).
+ * <p>
+ * A fila tem só 4 posições e espera até 2 segundos por espaço, para exercitar tanto o bloqueio quanto a recusa com 429;
+ * a espera pelo commit vai até 5 segundos.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "application.write-behind.enabled=true",
+        "application.write-behind.queue-capacity=4",
+        "application.write-behind.enqueue-timeout-millis=2000",
+        "application.write-behind.result-timeout-millis=5000",
+    }
+)
+class PessoaWriteBehindIT {
+
+    private static final String ENTITY_API_URL = "/api/pessoas";
+
+    private static final String BLOCKING_NOME = "Write-behind bloqueado";
+
+    private static final String EXPIRED_NOME = "Write-behind expirado";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private FlusherGate flusherGate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(40);
+
+    @AfterEach
+    public void cleanUp() {
+        flusherGate.open();
+        clients.shutdownNow();
+        createdIds.forEach(id -> restTemplate.delete(ENTITY_API_URL + "/" + id));
+    }
+
+    @Test
+    void concurrentCreationsAreGroupCommitted() throws Exception {
+        DistributionSummary batchSize = meterRegistry.get(PessoaWriteBehindService.BATCH_SIZE_METRIC).summary();
+        long commitsBefore = batchSize.count();
+        double rowsBefore = batchSize.totalAmount();
+
+        List<CompletableFuture<ResponseEntity<PessoaDTO>>> responses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            responses.add(post("Write-behind " + i));
+        }
+
+        for (CompletableFuture<ResponseEntity<PessoaDTO>> response : responses) {
+            ResponseEntity<PessoaDTO> created = response.get(30, TimeUnit.SECONDS);
+            assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(created.getBody().getId()).isNotNull();
+            assertThat(created.getBody().getVersion()).isZero();
+            // O INSERT roda na thread de gravação: a contagem da requisição seria zero, e o cabeçalho é omitido
+            assertThat(created.getHeaders().containsKey(QueryCountFilter.QUERY_COUNT_HEADER)).isFalse();
+            createdIds.add(created.getBody().getId());
+        }
+
+        assertThat(createdIds).doesNotHaveDuplicates();
+        assertThat(pessoaRepository.findAllById(createdIds)).hasSize(40);
+
+        // As 40 linhas entraram em menos de 40 commits: ao menos um lote teve mais de uma pessoa
+        assertThat(batchSize.totalAmount() - rowsBefore).isEqualTo(40);
+        assertThat(batchSize.count() - commitsBefore).isLessThan(40);
+    }
+
+    @Test
+    void fullQueueAnswersTooManyRequests() throws Exception {
+        flusherGate.close();
+        CompletableFuture<ResponseEntity<PessoaDTO>> blocking = post(BLOCKING_NOME);
+        assertThat(flusherGate.awaitReached()).isTrue();
+
+        // O flusher está parado depois do commit do bloqueio: 4 entram na fila e os outros 6 esgotam a espera
+        List<CompletableFuture<ResponseEntity<PessoaDTO>>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(post("Write-behind fila " + i));
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (responses.stream().filter(CompletableFuture::isDone).count() < 6 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        List<ResponseEntity<PessoaDTO>> rejected = responses
+            .stream()
+            .filter(CompletableFuture::isDone)
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+        assertThat(rejected).hasSize(6);
+        assertThat(rejected).extracting(ResponseEntity::getStatusCode).containsOnly(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.get(0).getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        flusherGate.open();
+        createdIds.add(blocking.get(30, TimeUnit.SECONDS).getBody().getId());
+        for (CompletableFuture<ResponseEntity<PessoaDTO>> response : responses) {
+            ResponseEntity<PessoaDTO> result = response.get(30, TimeUnit.SECONDS);
+            if (result.getStatusCode() == HttpStatus.CREATED) {
+                createdIds.add(result.getBody().getId());
+            }
+        }
+        assertThat(createdIds).hasSize(5);
+    }
+
+    @Test
+    void waitForCommitIsBounded() throws Exception {
+        flusherGate.close();
+        CompletableFuture<ResponseEntity<PessoaDTO>> blocking = post(BLOCKING_NOME);
+        assertThat(flusherGate.awaitReached()).isTrue();
+
+        // O flusher está parado: a inserção seguinte fica na fila até esgotar o result-timeout-millis
+        ResponseEntity<PessoaDTO> expired = post(EXPIRED_NOME).get(15, TimeUnit.SECONDS);
+        assertThat(expired.getStatusCode().is5xxServerError()).isTrue();
+
+        flusherGate.open();
+        blocking.get(30, TimeUnit.SECONDS);
+        // A fila é FIFO: quando a próxima inserção confirma, o flusher já passou pela que expirou
+        ResponseEntity<PessoaDTO> next = post("Write-behind depois da espera").get(30, TimeUnit.SECONDS);
+        assertThat(next.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        createdIds.add(next.getBody().getId());
+
+        List<Pessoa> written = pessoaRepository
+            .findAll()
+            .stream()
+            .filter(pessoa -> BLOCKING_NOME.equals(pessoa.getNome()) || EXPIRED_NOME.equals(pessoa.getNome()))
+            .collect(Collectors.toList());
+        written.forEach(pessoa -> createdIds.add(pessoa.getId()));
+        assertThat(written).extracting(Pessoa::getNome).containsExactly(BLOCKING_NOME);
+    }
+
+    private CompletableFuture<ResponseEntity<PessoaDTO>> post(String nome) {
+        PessoaDTO pessoaDTO = new PessoaDTO();
+        pessoaDTO.setNome(nome);
+        return CompletableFuture.supplyAsync(() -> restTemplate.postForEntity(ENTITY_API_URL, pessoaDTO, PessoaDTO.class), clients);
+    }
+
+    /**
+     * Segura a thread de gravação depois do commit do lote que contém {@link #BLOCKING_NOME}, enquanto estiver fechada.
+     */
+    static class FlusherGate {
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        private volatile CountDownLatch reached = new CountDownLatch(1);
+
+        void close() {
+            reached = new CountDownLatch(1);
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        boolean awaitReached() throws InterruptedException {
+            return reached.await(10, TimeUnit.SECONDS);
+        }
+
+        @TransactionalEventListener
+        public void onPessoaNomeChanged(PessoaNomeChangedEvent event) throws InterruptedException {
+            if (BLOCKING_NOME.equals(event.getNome())) {
+                reached.countDown();
+                gate.await(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class FlusherGateConfiguration {
+
+        @Bean
+        FlusherGate flusherGate() {
+            return new FlusherGate();
+        }
+    }
+}
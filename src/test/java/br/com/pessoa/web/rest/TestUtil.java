@@ -1,7 +1,9 @@
 package br.com.pessoa.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
+import br.com.pessoa.web.filter.QueryCountFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -22,6 +24,7 @@ import org.hamcrest.TypeSafeMatcher;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.test.web.servlet.ResultMatcher;
 
 /**
  * Utility class for testing REST controllers.
@@ -202,5 +205,16 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Checks the number of SQL statements the request executed before writing the response, as reported by
+     * {@link QueryCountFilter} in the {@value QueryCountFilter#QUERY_COUNT_HEADER} header.
+     *
+     * @param expected the expected number of statements.
+     * @return the matcher.
+     */
+    public static ResultMatcher queryCount(int expected) {
+        return header().string(QueryCountFilter.QUERY_COUNT_HEADER, String.valueOf(expected));
+    }
+
     private TestUtil() {}
 }